@@ -0,0 +1,57 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal dog.ceo stand-in for the startup benchmark, so the measurement does not depend on a
+ * reachable upstream. Answers the catalog endpoints under {@code /api} with a few fixed breeds.
+ * Run as a single-file program: {@code java scripts/DogApiStub.java <port>}.
+ */
+public class DogApiStub {
+
+    private static final String BREEDS = "{\"message\":{\"hound\":[\"afghan\",\"basset\"],\"pug\":[],\"akita\":[]},"
+            + "\"status\":\"success\"}";
+    private static final String IMAGE = "\"https://images.dog.ceo/breeds/hound-afghan/n02088094_1003.jpg\"";
+
+    public static void main(String[] args) throws IOException {
+        int port = Integer.parseInt(args[0]);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 64);
+        server.createContext("/api/", DogApiStub::handle);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        System.out.println("dog.ceo stub listening on " + port);
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/api/breeds/list/all")) {
+            respond(exchange, 200, BREEDS);
+        } else if (path.endsWith("/list")) {
+            respond(exchange, 200, success("[]"));
+        } else if (path.contains("/images/random/") || path.endsWith("/images")) {
+            respond(exchange, 200, success("[" + IMAGE + "]"));
+        } else if (path.endsWith("/random")) {
+            respond(exchange, 200, success(IMAGE));
+        } else {
+            respond(exchange, 404, "{\"message\":\"Not found\",\"status\":\"error\",\"code\":404}");
+        }
+    }
+
+    private static String success(String message) {
+        return "{\"message\":" + message + ",\"status\":\"success\"}";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
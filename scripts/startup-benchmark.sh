@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+#
+# Measures time from process launch to the first successful GET /api/dogs/breeds
+# and appends the result to a report file. Exits non-zero when no request succeeded,
+# so a build that runs it fails instead of recording an unmeasured result.
+#
+# Usage: startup-benchmark.sh <report-file> <label> <command...>
+#
+# Environment:
+#   BENCHMARK_PORT     port the application listens on (default 18080)
+#   BENCHMARK_TIMEOUT  seconds to wait for the first success (default 120)
+#   DOG_API_BASEURL    dog.ceo base URL; when unset, scripts/DogApiStub.java is started
+#                      on BENCHMARK_STUB_PORT (default 18089) and used instead
+#
+set -u
+
+report="$1"
+label="$2"
+shift 2
+
+port="${BENCHMARK_PORT:-18080}"
+timeout="${BENCHMARK_TIMEOUT:-120}"
+log="$(dirname "$report")/startup-benchmark-${label}.log"
+url="http://localhost:${port}/api/dogs/breeds"
+
+export SERVER_PORT="$port"
+
+stub_pid=""
+if [ -z "${DOG_API_BASEURL:-}" ]; then
+    stub_port="${BENCHMARK_STUB_PORT:-18089}"
+    java "$(dirname "$0")/DogApiStub.java" "$stub_port" > "$(dirname "$report")/startup-benchmark-stub.log" 2>&1 &
+    stub_pid=$!
+    export DOG_API_BASEURL="http://127.0.0.1:${stub_port}/api"
+    stub_deadline=$(( $(date +%s) + 30 ))
+    until curl -s -o /dev/null "${DOG_API_BASEURL}/breeds/list/all"; do
+        if ! kill -0 "$stub_pid" 2> /dev/null || [ "$(date +%s)" -ge "$stub_deadline" ]; then
+            echo "dog.ceo stub did not start on port ${stub_port}" >&2
+            kill "$stub_pid" 2> /dev/null
+            exit 1
+        fi
+        sleep 0.1
+    done
+fi
+
+start=$(date +%s%N)
+"$@" > "$log" 2>&1 &
+pid=$!
+
+measured=false
+result="timed out after ${timeout}s"
+deadline=$((start + timeout * 1000000000))
+while [ "$(date +%s%N)" -lt "$deadline" ]; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+        result="process exited before serving a request"
+        break
+    fi
+    status=$(curl -s -o /dev/null -w '%{http_code}' "$url" || true)
+    if [ "$status" = "200" ]; then
+        elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+        result="${elapsed} ms"
+        measured=true
+        break
+    fi
+    sleep 0.05
+done
+
+kill "$pid" 2> /dev/null
+wait "$pid" 2> /dev/null
+if [ -n "$stub_pid" ]; then
+    kill "$stub_pid" 2> /dev/null
+    wait "$stub_pid" 2> /dev/null
+fi
+
+started=$(grep -o 'Started RestfulApiApplication in [0-9.]* seconds' "$log" | head -n 1)
+printf '%-10s first successful %s: %s (%s)\n' "$label" "$url" "$result" "${started:-no startup line}" >> "$report"
+cat "$report"
+
+if [ "$measured" != true ]; then
+    echo "${label}: startup could not be measured (${result}), see ${log}" >&2
+    exit 1
+fi
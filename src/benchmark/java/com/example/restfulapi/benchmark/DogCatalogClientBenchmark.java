@@ -0,0 +1,123 @@
+package com.example.restfulapi.benchmark;
+
+import com.example.restfulapi.RestfulApiApplication;
+import com.example.restfulapi.service.DogCatalogClient;
+import com.example.restfulapi.service.DogResult;
+import com.example.restfulapi.support.DogApiStubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link DogCatalogClient} implementations against an in-process dog.ceo stub.
+ * Each trial boots the application (without a web server) with {@code dog.api.client} set to
+ * the benchmarked backend, so the client is wired exactly as in production.
+ * Run with {@code mvn -Pclient-benchmark verify}; throughput, sampled latency percentiles and,
+ * through the GC profiler, bytes allocated per call ({@code gc.alloc.rate.norm}) are written
+ * to {@code target/client-benchmark.json}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DogCatalogClientBenchmark {
+
+    private static final String BREED = "hound";
+    private static final int BREED_COUNT = 120;
+    private static final int IMAGE_COUNT = 150;
+
+    @Param({"webclient", "resttemplate", "httpclient"})
+    private String client;
+
+    private DogApiStubServer stub;
+    private ConfigurableApplicationContext context;
+    private DogCatalogClient dogCatalogClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stub = DogApiStubServer.start(8)
+                .respond("/breeds/list/all", breedsBody())
+                .respond("/breed/" + BREED + "/images", imagesBody(IMAGE_COUNT))
+                .respond("/breed/" + BREED + "/images/random", imagesBody(3));
+        // command line arguments, so they override application.properties
+        context = new SpringApplicationBuilder(RestfulApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--dog.api.client=" + client,
+                        "--dog.api.base-url=" + stub.baseUrl(),
+                        // no catalog crawl during the measurement
+                        "--dog.catalog.refresh.initial-delay=P1D",
+                        // keep the outbound scheduler, shared by all three clients, from throttling the benchmark
+                        "--app.upstream.rate-per-second=1000000",
+                        "--app.upstream.burst=10000",
+                        "--logging.level.root=WARN");
+        dogCatalogClient = context.getBean(DogCatalogClient.class);
+
+        DogResult<List<String>> probe = dogCatalogClient.getAllBreeds();
+        if (!probe.isSuccess() || probe.getValue().size() != BREED_COUNT) {
+            throw new IllegalStateException(client + " client cannot reach the stub: " + probe);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        stub.close();
+    }
+
+    // map-shaped message, 120 keys
+    @Benchmark
+    public DogResult<List<String>> allBreeds() {
+        return dogCatalogClient.getAllBreeds();
+    }
+
+    // array message, 150 entries
+    @Benchmark
+    public DogResult<List<String>> allBreedImages() {
+        return dogCatalogClient.getAllBreedImages(BREED);
+    }
+
+    // array message, 3 entries
+    @Benchmark
+    public DogResult<List<String>> randomBreedImages() {
+        return dogCatalogClient.getRandomBreedImages(BREED, 3);
+    }
+
+    private static byte[] breedsBody() {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < BREED_COUNT; i++) {
+            json.append(i > 0 ? "," : "").append("\"breed").append(i).append("\":")
+                    .append(i % 3 == 0 ? "[\"a\",\"b\"]" : "[]");
+        }
+        return DogApiStubServer.success(json.append('}').toString());
+    }
+
+    private static byte[] imagesBody(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            json.append(i > 0 ? "," : "")
+                    .append("\"https://images.dog.ceo/breeds/").append(BREED).append("/n0200").append(i).append(".jpg\"");
+        }
+        return DogApiStubServer.success(json.append(']').toString());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.restfulapi.benchmark;
+
+import com.example.restfulapi.exception.ErrorResponses;
+import com.example.restfulapi.service.DogError;
+import com.example.restfulapi.service.DogResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of answering one request while dog.ceo returns 503.
+ * {@code exceptionPath} replays what the service and {@code GlobalExceptionHandler} did before:
+ * the upstream status raised as a {@code WebClientResponseException}, wrapped into a new
+ * {@code RuntimeException} with its stack trace, and a {@code HashMap} body with a fresh
+ * {@code LocalDateTime} serialized by Jackson. {@code resultPath} is the current path: a shared
+ * {@link DogResult} failure written by {@link ErrorResponses}. Both are called {@code depth}
+ * frames deep, since filling in a stack trace costs more the deeper the request stack is.
+ * Logging is left out, both paths log the failure once.
+ * Run with {@code mvn -Pclient-benchmark verify}; compare throughput and
+ * {@code gc.alloc.rate.norm} (bytes allocated per error).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    private static final String PATH = "/api/dogs/breeds";
+
+    // Roughly a servlet filter chain plus Spring MVC dispatch, and a shallow call for comparison
+    @Param({"20", "120"})
+    private int depth;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Benchmark
+    public Object exceptionPath() throws JsonProcessingException {
+        try {
+            return atDepth(depth, true);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorDetails = new HashMap<>();
+            errorDetails.put("timestamp", LocalDateTime.now());
+            errorDetails.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+            errorDetails.put("error", "Internal Server Error");
+            errorDetails.put("message", e.getMessage());
+            errorDetails.put("path", PATH);
+            return objectMapper.writeValueAsBytes(errorDetails);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> resultPath() {
+        DogResult<List<String>> result = atDepth(depth, false);
+        return ErrorResponses.of(result.getError().getStatus(), result.getError().getMessage(), PATH);
+    }
+
+    private static DogResult<List<String>> atDepth(int remaining, boolean throwing) {
+        if (remaining > 0) {
+            return atDepth(remaining - 1, throwing);
+        }
+        return throwing ? throwingCall() : resultCall();
+    }
+
+    private static DogResult<List<String>> throwingCall() {
+        try {
+            throw WebClientResponseException.create(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    "Service Unavailable", HttpHeaders.EMPTY, new byte[0], null);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to fetch dog breeds", e);
+        }
+    }
+
+    private static DogResult<List<String>> resultCall() {
+        return DogResult.failure(DogError.fromUpstreamStatus(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.restfulapi.benchmark;
+
+import com.example.restfulapi.RestfulApiApplication;
+import com.example.restfulapi.service.DogImageStreamService;
+import com.example.restfulapi.support.DogApiStubServer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.Disposable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connects thousands of subscribers to one breed's image stream and waits until every one of
+ * them has received {@value #EVENTS} images. The catalog is never loaded, so each poll is a
+ * call to the in-process dog.ceo stub. A round fails if it makes more than twice as many
+ * calls as it delivers images; {@code upstreamCalls} reports the calls per iteration, about
+ * {@value #EVENTS} per round whether 1 or 10,000 clients are connected.
+ * Run with {@code mvn -Pclient-benchmark verify}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ImageStreamFanOutBenchmark {
+
+    private static final String BREED = "hound";
+    private static final String RANDOM_IMAGE_PATH = "/breed/" + BREED + "/images/random";
+    private static final int EVENTS = 20;
+    private static final long ROUND_TIMEOUT_SECONDS = 30;
+
+    @Param({"1", "1000", "10000"})
+    private int subscribers;
+
+    private DogApiStubServer stub;
+    private ConfigurableApplicationContext context;
+    private DogImageStreamService dogImageStreamService;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Upstream {
+        public long upstreamCalls;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stub = DogApiStubServer.start(4)
+                .respond(RANDOM_IMAGE_PATH,
+                        DogApiStubServer.success("\"https://images.dog.ceo/breeds/" + BREED + "/n02000.jpg\""));
+        context = new SpringApplicationBuilder(RestfulApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--dog.api.base-url=" + stub.baseUrl(),
+                        // no catalog, every poll goes upstream
+                        "--dog.catalog.refresh.initial-delay=P1D",
+                        "--app.image-stream.interval=PT0.01S",
+                        // a fresh poller and an empty replay buffer for every round
+                        "--app.image-stream.idle-grace=PT0S",
+                        "--app.upstream.rate-per-second=1000000",
+                        "--app.upstream.burst=10000",
+                        "--logging.level.root=WARN");
+        dogImageStreamService = context.getBean(DogImageStreamService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        stub.close();
+    }
+
+    @Benchmark
+    public void fanOut(Upstream upstream) throws InterruptedException {
+        CountDownLatch received = new CountDownLatch(subscribers);
+        List<Disposable> subscriptions = new ArrayList<>(subscribers);
+        long callsBefore = stub.calls(RANDOM_IMAGE_PATH);
+        for (int i = 0; i < subscribers; i++) {
+            subscriptions.add(dogImageStreamService.stream(BREED)
+                    .take(EVENTS)
+                    .doOnComplete(received::countDown)
+                    .subscribe());
+        }
+        boolean complete = received.await(ROUND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        subscriptions.forEach(Disposable::dispose);
+        long calls = stub.calls(RANDOM_IMAGE_PATH) - callsBefore;
+        upstream.upstreamCalls += calls;
+        if (!complete) {
+            throw new IllegalStateException(received.getCount() + " of " + subscribers + " subscribers did not receive "
+                    + EVENTS + " images within " + ROUND_TIMEOUT_SECONDS + " s");
+        }
+        if (calls > 2L * EVENTS) {
+            throw new IllegalStateException(calls + " upstream calls for " + EVENTS + " images to " + subscribers
+                    + " subscribers");
+        }
+    }
+}
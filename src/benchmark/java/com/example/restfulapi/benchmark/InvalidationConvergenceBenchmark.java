@@ -0,0 +1,106 @@
+package com.example.restfulapi.benchmark;
+
+import com.example.restfulapi.RestfulApiApplication;
+import com.example.restfulapi.cache.UserCache;
+import com.example.restfulapi.model.User;
+import com.example.restfulapi.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs several application contexts in one JVM, sharing the in-memory database, and measures
+ * how long a user invalidation made on one node takes until every other node has dropped
+ * the user from its cache.
+ * Covers both bus transports, with and without a batch window.
+ * Run with {@code mvn -Pclient-benchmark verify}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvalidationConvergenceBenchmark {
+
+    private static final int NODES = 3;
+    private static final long CONVERGENCE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    @Param({"in-jvm", "multicast"})
+    private String transport;
+
+    @Param({"PT0S", "PT0.01S"})
+    private String batchWindow;
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private UserCache origin;
+    private final List<UserCache> replicas = new ArrayList<>();
+    private long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new SpringApplicationBuilder(RestfulApiApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .bannerMode(Banner.Mode.OFF)
+                    .run("--app.invalidation.transport=" + transport,
+                            "--app.invalidation.batch-window=" + batchWindow,
+                            "--dog.catalog.refresh.initial-delay=P1D",
+                            "--spring.jpa.show-sql=false",
+                            "--logging.level.root=WARN"));
+        }
+        origin = nodes.get(0).getBean(UserCache.class);
+        for (int i = 1; i < NODES; i++) {
+            replicas.add(nodes.get(i).getBean(UserCache.class));
+        }
+        UserRepository users = nodes.get(0).getBean(UserRepository.class);
+        users.deleteAll();
+        userId = users.save(new User("Benchmark User", "benchmark@example.com", "Nowhere 1")).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+        nodes.clear();
+        replicas.clear();
+    }
+
+    @Setup(Level.Invocation)
+    public void warmCaches() {
+        for (UserCache replica : replicas) {
+            replica.findById(userId);
+        }
+    }
+
+    @Benchmark
+    public void userInvalidation() {
+        origin.invalidate(userId);
+        long deadline = System.nanoTime() + CONVERGENCE_TIMEOUT_NANOS;
+        for (UserCache replica : replicas) {
+            while (replica.contains(userId)) {
+                if (System.nanoTime() - deadline > 0) {
+                    throw new IllegalStateException("Nodes did not converge within 5 s over " + transport);
+                }
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
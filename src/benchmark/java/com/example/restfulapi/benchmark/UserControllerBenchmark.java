@@ -0,0 +1,154 @@
+package com.example.restfulapi.benchmark;
+
+import com.example.restfulapi.RestfulApiApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@code /api/users} throughput over HTTP with the default settings (in-memory H2, SQL logging,
+ * default pool, Open-Session-In-View) against the {@code prod} profile (file-backed H2, sized
+ * pool, validated schema, no SQL logging). The prod database lives in a temporary directory.
+ * The user cache is switched off, so {@code getUser} reads from the database like the others.
+ * Standard output is discarded in both cases, so {@code spring.jpa.show-sql} costs its
+ * formatting and locking but no terminal time.
+ * Run with {@code mvn -Pclient-benchmark verify}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class UserControllerBenchmark {
+
+    private static final int USERS = 200;
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    private final AtomicLong emails = new AtomicLong();
+    private final List<Long> ids = new ArrayList<>();
+    private PrintStream stdout;
+    private Path dataDirectory;
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--dog.catalog.refresh.initial-delay=P1D",
+                "--app.rate-limit.enabled=false",
+                // every lookup goes to the database instead of the in-process user cache
+                "--app.user-cache.max-entries=0",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.restfulapi=WARN"));
+        if ("prod".equals(profile)) {
+            dataDirectory = Files.createTempDirectory("user-benchmark");
+            args.add("--spring.profiles.active=prod");
+            args.add("--spring.datasource.url=jdbc:h2:file:" + dataDirectory.resolve("restfulapi")
+                    + ";QUERY_CACHE_SIZE=64;DB_CLOSE_ON_EXIT=FALSE");
+        }
+        context = new SpringApplicationBuilder(RestfulApiApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run(args.toArray(String[]::new));
+        baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port") + "/api/users";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        for (int i = 0; i < USERS; i++) {
+            ids.add(create());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        if (dataDirectory != null) {
+            FileSystemUtils.deleteRecursively(dataDirectory);
+        }
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public int getUser() throws IOException, InterruptedException {
+        long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        return expect(200, send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).GET())).length();
+    }
+
+    @Benchmark
+    public int listUsers() throws IOException, InterruptedException {
+        return expect(200, send(HttpRequest.newBuilder(URI.create(baseUrl)).GET())).length();
+    }
+
+    // Keeps the table at a constant size
+    @Benchmark
+    public long createAndDeleteUser() throws IOException, InterruptedException {
+        long id = create();
+        expect(204, send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).DELETE()));
+        return id;
+    }
+
+    private long create() throws IOException, InterruptedException {
+        long n = emails.incrementAndGet();
+        String json = "{\"name\":\"User " + n + "\",\"email\":\"user" + n + "@example.com\",\"address\":\"Street " + n + "\"}";
+        String body = expect(201, send(HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))));
+        Matcher id = ID.matcher(body);
+        if (!id.find()) {
+            throw new IllegalStateException("No id in " + body);
+        }
+        return Long.parseLong(id.group(1));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String expect(int status, HttpResponse<String> response) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException(response.request().method() + " " + response.uri() + " answered "
+                    + response.statusCode() + ", expected " + status);
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.restfulapi.cache;
+
+import com.example.restfulapi.exception.ErrorResponses;
+import com.example.restfulapi.service.DogCatalogRefreshedEvent;
+import com.example.restfulapi.service.DogResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of hot GET responses kept as ready-to-send bytes.
+ * Each entry holds the serialized JSON plus its gzip and deflate encodings, so a hit
+ * only picks the variant matching {@code Accept-Encoding} and hands the array to the
+ * byte array converter without any Jackson or compression work.
+ * Brotli is not offered because the JDK ships no encoder for it.
+ * Entries are keyed by route and path variables, so query strings cannot create new keys.
+ * When the cache is full, expired entries are dropped first, then the least recently used one.
+ * A body rendered before an invalidation is not kept after it.
+ */
+@Component
+public class EncodedResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(EncodedResponseCache.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.response-cache.ttl:PT5M}")
+    private Duration ttl;
+
+    @Value("${app.response-cache.max-entries:1024}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<String, EncodedResponse> entries = new ConcurrentHashMap<>();
+    // Bumped by every invalidation
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Serve the request from the cache, loading and encoding the body on a miss.
+     * Failures are answered with their error body, empty bodies with 204; neither is cached.
+     * @param request The current request, used for the cache key and encoding negotiation
+     * @param loader Supplies the response body on a miss
+     * @return The encoded response
+     */
+    public ResponseEntity<byte[]> serve(HttpServletRequest request,
+                                        Supplier<? extends DogResult<? extends Collection<?>>> loader) {
+        String key = cacheKey(request);
+        Encoding encoding = Encoding.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        long now = System.nanoTime();
+
+        EncodedResponse cached = entries.get(key);
+        if (cached != null && now - cached.expiresAt < 0) {
+            cached.lastAccess = now;
+            return cached.toResponseEntity(encoding);
+        }
+
+        long renderedIn = generation.get();
+        DogResult<? extends Collection<?>> result = loader.get();
+        if (!result.isSuccess()) {
+            return ErrorResponses.of(result.getError(), request);
+        }
+        Collection<?> body = result.getValue();
+        if (body.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+
+        EncodedResponse encoded = encode(body, now, now + ttl.toNanos());
+        if (cached == null && entries.size() >= maxEntries) {
+            evict(now);
+        }
+        entries.put(key, encoded);
+        if (generation.get() != renderedIn) {
+            // Invalidated while rendering; the clear may have run before the put
+            entries.remove(key, encoded);
+        }
+        return encoded.toResponseEntity(encoding);
+    }
+
+    /**
+     * Drop every cached response
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    @EventListener
+    public void onCatalogRefreshed(DogCatalogRefreshedEvent event) {
+        logger.debug("Dog catalog refreshed, dropping {} cached response(s)", entries.size());
+        invalidateAll();
+    }
+
+    // Only on a miss with a full cache, so a scan of at most max-entries is cheap next to the encoding
+    private void evict(long now) {
+        entries.values().removeIf(entry -> now - entry.expiresAt >= 0);
+        while (entries.size() >= maxEntries) {
+            Map.Entry<String, EncodedResponse> eldest = null;
+            for (Map.Entry<String, EncodedResponse> entry : entries.entrySet()) {
+                if (eldest == null || entry.getValue().lastAccess - eldest.getValue().lastAccess < 0) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            entries.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    // The matched route plus its path variables; query parameters of the cached routes are ignored
+    @SuppressWarnings("unchecked")
+    private static String cacheKey(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return request.getRequestURI();
+        }
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables == null || variables.isEmpty() ? pattern.toString() : pattern + " " + new TreeMap<>(variables);
+    }
+
+    private EncodedResponse encode(Object body, long now, long expiresAt) {
+        try {
+            byte[] identity = objectMapper.writeValueAsBytes(body);
+            return new EncodedResponse(identity, compress(identity, Encoding.GZIP),
+                    compress(identity, Encoding.DEFLATE), now, expiresAt);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize cached response", e);
+        }
+    }
+
+    private static byte[] compress(byte[] data, Encoding encoding) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (OutputStream out = encoding == Encoding.GZIP
+                ? new GZIPOutputStream(buffer)
+                : new DeflaterOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] compressed = buffer.toByteArray();
+        // Not worth sending a variant that did not shrink the payload
+        return compressed.length < data.length ? compressed : null;
+    }
+
+    enum Encoding {
+        IDENTITY(null), GZIP("gzip"), DEFLATE("deflate");
+
+        private final String token;
+
+        Encoding(String token) {
+            this.token = token;
+        }
+
+        static Encoding negotiate(String acceptEncoding) {
+            if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+                return IDENTITY;
+            }
+            String accepted = acceptEncoding.toLowerCase(Locale.ROOT);
+            if (accepts(accepted, GZIP.token)) {
+                return GZIP;
+            }
+            if (accepts(accepted, DEFLATE.token)) {
+                return DEFLATE;
+            }
+            return IDENTITY;
+        }
+
+        private static boolean accepts(String acceptEncoding, String token) {
+            for (String part : acceptEncoding.split(",")) {
+                String[] params = part.trim().split(";");
+                if (!params[0].trim().equals(token)) {
+                    continue;
+                }
+                for (int i = 1; i < params.length; i++) {
+                    String param = params[i].trim();
+                    if (param.startsWith("q=") && isZero(param.substring(2))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+
+        private static boolean isZero(String quality) {
+            try {
+                return Double.parseDouble(quality) == 0;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+
+    private static final class EncodedResponse {
+        private final byte[] identity;
+        private final byte[] gzip;
+        private final byte[] deflate;
+        private final long expiresAt;
+        private volatile long lastAccess;
+
+        private EncodedResponse(byte[] identity, byte[] gzip, byte[] deflate, long lastAccess, long expiresAt) {
+            this.identity = identity;
+            this.gzip = gzip;
+            this.deflate = deflate;
+            this.lastAccess = lastAccess;
+            this.expiresAt = expiresAt;
+        }
+
+        private ResponseEntity<byte[]> toResponseEntity(Encoding encoding) {
+            byte[] body = identity;
+            String contentEncoding = null;
+            if (encoding == Encoding.GZIP && gzip != null) {
+                body = gzip;
+                contentEncoding = Encoding.GZIP.token;
+            } else if (encoding == Encoding.DEFLATE && deflate != null) {
+                body = deflate;
+                contentEncoding = Encoding.DEFLATE.token;
+            }
+
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .contentLength(body.length)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (contentEncoding != null) {
+                // Tomcat skips its own compression when Content-Encoding is already set
+                builder.header(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+            }
+            return builder.body(body);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.restfulapi.cache;
+
+import com.example.restfulapi.service.DogError;
+import com.example.restfulapi.service.DogResult;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded, least-recently-used on-disk cache of dog images.
+ * Images are downloaded once through the image host's own {@code WebClient} and streamed
+ * straight to a file, so the bytes never pass through a heap array. Concurrent misses for the same image share
+ * one download. The index is rebuilt from the cache directory on startup.
+ * Evicted files are deleted only after {@code app.image-cache.delete-delay}: a hit may already
+ * have handed the path to sendfile, which Tomcat opens after the handler has returned.
+ */
+@Component
+public class ImageDiskCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageDiskCache.class);
+    private static final Duration DOWNLOAD_TIMEOUT = Duration.ofSeconds(30);
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    @Autowired
+    @Qualifier("imageWebClient")
+    private WebClient webClient;
+
+    @Value("${app.image-cache.dir:${java.io.tmpdir}/dog-image-cache}")
+    private Path directory;
+
+    @Value("${app.image-cache.max-size-bytes:536870912}")
+    private long maxSizeBytes;
+
+    @Value("${app.image-cache.delete-delay:PT30S}")
+    private Duration deleteDelay;
+
+    @Value("${dog.images.base-url:https://images.dog.ceo/breeds}")
+    private String imagesBaseUrl;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, CachedImage> index = new LinkedHashMap<>(256, 0.75f, true);
+    private final ConcurrentHashMap<String, CompletableFuture<DogResult<CachedImage>>> downloads =
+            new ConcurrentHashMap<>();
+    private long totalBytes;
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            List<Path> existing = files.filter(Files::isRegularFile).toList();
+            existing.stream()
+                    .filter(path -> path.getFileName().toString().endsWith(TEMP_SUFFIX))
+                    .forEach(ImageDiskCache::deleteQuietly);
+            existing.stream()
+                    .filter(path -> !path.getFileName().toString().endsWith(TEMP_SUFFIX))
+                    .sorted(Comparator.comparingLong(ImageDiskCache::lastModified))
+                    .forEach(path -> {
+                        String key = directory.relativize(path).toString().replace('\\', '/');
+                        register(key, new CachedImage(path, path.toFile().length()));
+                    });
+        }
+        logger.info("Image cache at {} holds {} image(s), {} bytes", directory, index.size(), totalBytes);
+    }
+
+    /**
+     * Get an image from the cache, downloading it on a miss
+     * @param breed Breed directory as used by images.dog.ceo, e.g. {@code hound-afghan}
+     * @param file Image file name
+     * @return The cached file, or the reason it could not be fetched
+     */
+    public CompletableFuture<DogResult<CachedImage>> get(String breed, String file) {
+        String key = breed + '/' + file;
+        CachedImage cached;
+        synchronized (index) {
+            cached = index.get(key);
+        }
+        if (cached != null) {
+            return CompletableFuture.completedFuture(DogResult.success(cached));
+        }
+
+        CompletableFuture<DogResult<CachedImage>> download = new CompletableFuture<>();
+        CompletableFuture<DogResult<CachedImage>> existing = downloads.putIfAbsent(key, download);
+        if (existing != null) {
+            return existing;
+        }
+        // A download that finished since the lookup registered the file before leaving downloads
+        synchronized (index) {
+            cached = index.get(key);
+        }
+        if (cached != null) {
+            downloads.remove(key, download);
+            download.complete(DogResult.success(cached));
+            return download;
+        }
+        download(key, breed, file)
+                .toFuture()
+                .whenComplete((result, error) -> {
+                    downloads.remove(key, download);
+                    if (error != null) {
+                        logger.error("Error caching image {}: {}", key, error.toString());
+                        download.complete(DogResult.failure(DogError.UPSTREAM_UNAVAILABLE));
+                    } else {
+                        download.complete(result);
+                    }
+                });
+        return download;
+    }
+
+    private Mono<DogResult<CachedImage>> download(String key, String breed, String file) {
+        Path target = directory.resolve(breed).resolve(file);
+        Path temp = target.resolveSibling(file + '.' + System.nanoTime() + TEMP_SUFFIX);
+
+        // A template, so upstream call events group downloads instead of listing every image
+        return webClient
+                .get()
+                .uri(imagesBaseUrl + "/{breed}/{file}", breed, file)
+                .exchangeToMono(response -> {
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        DogError error = DogError.fromUpstreamStatus(response.statusCode());
+                        return response.releaseBody().thenReturn(DogResult.<CachedImage>failure(
+                                error == DogError.NOT_FOUND ? DogError.IMAGE_NOT_FOUND : error));
+                    }
+                    return Mono.fromCallable(() -> Files.createDirectories(target.getParent()))
+                            .then(DataBufferUtils.write(response.bodyToFlux(DataBuffer.class), temp))
+                            .then(Mono.fromCallable(() -> DogResult.success(commit(key, temp, target))));
+                })
+                .timeout(DOWNLOAD_TIMEOUT, Mono.just(DogResult.failure(DogError.UPSTREAM_TIMEOUT)))
+                .doOnNext(result -> {
+                    if (!result.isSuccess()) {
+                        deleteQuietly(temp);
+                    }
+                })
+                .doOnError(error -> deleteQuietly(temp));
+    }
+
+    private CachedImage commit(String key, Path temp, Path target) throws IOException {
+        // Under the index lock, so a delayed delete of an evicted copy cannot remove the new file
+        synchronized (index) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            CachedImage image = new CachedImage(target, Files.size(target));
+            register(key, image);
+            return image;
+        }
+    }
+
+    private void register(String key, CachedImage image) {
+        synchronized (index) {
+            CachedImage previous = index.put(key, image);
+            if (previous != null) {
+                totalBytes -= previous.getSize();
+            }
+            totalBytes += image.getSize();
+
+            Iterator<Map.Entry<String, CachedImage>> eldest = index.entrySet().iterator();
+            while (totalBytes > maxSizeBytes && eldest.hasNext()) {
+                Map.Entry<String, CachedImage> entry = eldest.next();
+                if (entry.getKey().equals(key)) {
+                    continue;
+                }
+                eldest.remove();
+                totalBytes -= entry.getValue().getSize();
+                deleteLater(entry.getKey(), entry.getValue().getPath());
+            }
+        }
+    }
+
+    private void deleteLater(String key, Path path) {
+        taskScheduler.schedule(() -> {
+            synchronized (index) {
+                // Cached again in the meantime: the file at this path is the new copy
+                if (!index.containsKey(key)) {
+                    deleteQuietly(path);
+                }
+            }
+        }, Instant.now().plus(deleteDelay));
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete cached image {}: {}", path, e.getMessage());
+        }
+    }
+
+    public static final class CachedImage {
+
+        private final Path path;
+        private final long size;
+
+        private CachedImage(Path path, long size) {
+            this.path = path;
+            this.size = size;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+}
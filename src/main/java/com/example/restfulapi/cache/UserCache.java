@@ -0,0 +1,96 @@
+package com.example.restfulapi.cache;
+
+import com.example.restfulapi.invalidation.Invalidation;
+import com.example.restfulapi.invalidation.InvalidationBus;
+import com.example.restfulapi.invalidation.RemoteInvalidationEvent;
+import com.example.restfulapi.model.User;
+import com.example.restfulapi.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process cache of user lookups by id.
+ * Changes made on this node evict the entry here and are broadcast on the {@link InvalidationBus},
+ * so the other nodes evict theirs. Loading happens inside the map's compute, so an eviction
+ * for a key waits for a concurrent load of that key instead of being overwritten by it.
+ * Lookups that find nothing are not cached.
+ */
+@Component
+public class UserCache {
+
+    @Value("${app.user-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<Long, User> users = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("user.cache.size", users, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    /**
+     * Get a user, loading it from the repository on a miss
+     */
+    public Optional<User> findById(long id) {
+        User cached = users.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        if (users.size() >= maxEntries) {
+            return userRepository.findById(id);
+        }
+        return Optional.ofNullable(users.computeIfAbsent(id, key -> userRepository.findById(key).orElse(null)));
+    }
+
+    /**
+     * Drop a changed or deleted user here and on all other nodes
+     */
+    public void invalidate(long id) {
+        users.remove(id);
+        invalidationBus.publish(Invalidation.user(id));
+    }
+
+    /**
+     * Drop all users here and on all other nodes
+     */
+    public void invalidateAll() {
+        users.clear();
+        invalidationBus.publish(Invalidation.allUsers());
+    }
+
+    /**
+     * Whether a user is currently cached on this node
+     */
+    public boolean contains(long id) {
+        return users.containsKey(id);
+    }
+
+    @EventListener
+    public void onRemoteInvalidation(RemoteInvalidationEvent event) {
+        for (Invalidation invalidation : event.getInvalidations()) {
+            switch (invalidation.type()) {
+                case USER -> users.remove(invalidation.key());
+                case ALL_USERS -> users.clear();
+                default -> {
+                }
+            }
+        }
+    }
+}
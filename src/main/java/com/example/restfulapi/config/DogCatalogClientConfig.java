@@ -0,0 +1,35 @@
+package com.example.restfulapi.config;
+
+import com.example.restfulapi.service.DogCatalogClient;
+import com.example.restfulapi.service.DogService;
+import com.example.restfulapi.service.DogWebClientService;
+import com.example.restfulapi.service.JdkHttpDogCatalogClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Picks the {@link DogCatalogClient} named by {@code dog.api.client} when the context starts.
+ * The three implementations are lazy beans, so only the selected one is created. A condition
+ * on the property would be evaluated once by Spring AOT and fixed in the startup build.
+ */
+@Configuration
+public class DogCatalogClientConfig {
+
+    @Bean
+    @Primary
+    public DogCatalogClient dogCatalogClient(@Value("${dog.api.client:webclient}") String client,
+                                             ObjectProvider<DogWebClientService> webClient,
+                                             ObjectProvider<DogService> restTemplate,
+                                             ObjectProvider<JdkHttpDogCatalogClient> httpClient) {
+        return switch (client) {
+            case "webclient" -> webClient.getObject();
+            case "resttemplate" -> restTemplate.getObject();
+            case "httpclient" -> httpClient.getObject();
+            default -> throw new IllegalStateException("Unknown dog.api.client '" + client
+                    + "', expected webclient, resttemplate or httpclient");
+        };
+    }
+}
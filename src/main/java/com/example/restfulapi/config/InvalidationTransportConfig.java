@@ -0,0 +1,32 @@
+package com.example.restfulapi.config;
+
+import com.example.restfulapi.invalidation.InJvmInvalidationTransport;
+import com.example.restfulapi.invalidation.InvalidationTransport;
+import com.example.restfulapi.invalidation.MulticastInvalidationTransport;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Picks the {@link InvalidationTransport} named by {@code app.invalidation.transport} when the
+ * context starts. Like {@link DogCatalogClientConfig}, the transports are lazy beans and no
+ * condition is involved that Spring AOT would fix at build time.
+ */
+@Configuration
+public class InvalidationTransportConfig {
+
+    @Bean
+    @Primary
+    public InvalidationTransport invalidationTransport(@Value("${app.invalidation.transport:in-jvm}") String transport,
+                                                       ObjectProvider<InJvmInvalidationTransport> inJvm,
+                                                       ObjectProvider<MulticastInvalidationTransport> multicast) {
+        return switch (transport) {
+            case "in-jvm" -> inJvm.getObject();
+            case "multicast" -> multicast.getObject();
+            default -> throw new IllegalStateException("Unknown app.invalidation.transport '" + transport
+                    + "', expected in-jvm or multicast");
+        };
+    }
+}
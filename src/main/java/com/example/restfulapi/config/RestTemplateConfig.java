@@ -1,14 +1,25 @@
 package com.example.restfulapi.config;
 
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class RestTemplateConfig {
 
+    // Only used when dog.api.client=resttemplate
+    @Lazy
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder, UpstreamRequestScheduler upstreamRequestScheduler) {
+        return builder
+                .setConnectTimeout(Duration.ofSeconds(5))
+                .setReadTimeout(Duration.ofSeconds(10))
+                .defaultHeader("User-Agent", "Spring Boot Dog API Client")
+                .additionalInterceptors(upstreamRequestScheduler)
+                .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,372 @@
+package com.example.restfulapi.config;
+
+import com.example.restfulapi.exception.UpstreamUnavailableException;
+import com.example.restfulapi.profiling.UpstreamCallEvent;
+import com.example.restfulapi.ratelimit.TokenBucket;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Outbound scheduler for dog.ceo calls, shared by every {@code DogCatalogClient} backend:
+ * installed as a {@link ExchangeFilterFunction} on the {@code WebClient} bean and as a
+ * {@link ClientHttpRequestInterceptor} on the {@code RestTemplate}; the JDK {@code HttpClient}
+ * backend calls {@link #admit} and {@link #backOff} around each attempt.
+ * Calls are released at {@code app.upstream.rate-per-second}; excess calls wait in a priority
+ * queue (user-facing before background work) until their deadline; background calls get the
+ * longer {@code app.upstream.max-background-queue-wait}. A 429 or 5xx answer pauses
+ * all dispatching for the {@code Retry-After} period, or an exponential backoff when the header
+ * is missing, and the call is retried while its deadline allows.
+ * Each call is recorded as an {@link UpstreamCallEvent} while a flight recording has it enabled.
+ */
+@Component
+public class UpstreamRequestScheduler implements ExchangeFilterFunction, ClientHttpRequestInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamRequestScheduler.class);
+
+    /**
+     * Request attribute carrying the {@link Priority} of a call; calls without it are interactive
+     */
+    public static final String PRIORITY_ATTRIBUTE = UpstreamRequestScheduler.class.getName() + ".priority";
+
+    public enum Priority {
+        INTERACTIVE, BACKGROUND
+    }
+
+    // Priority of RestTemplate calls made on the current thread, see withPriority
+    private static final ThreadLocal<Priority> BLOCKING_PRIORITY = new ThreadLocal<>();
+
+    @Value("${app.upstream.rate-per-second:20}")
+    private int ratePerSecond;
+
+    @Value("${app.upstream.burst:20}")
+    private int burst;
+
+    @Value("${app.upstream.max-queue-size:1000}")
+    private int maxQueueSize;
+
+    @Value("${app.upstream.max-queue-wait:PT5S}")
+    private Duration maxQueueWait;
+
+    @Value("${app.upstream.max-background-queue-wait:PT60S}")
+    private Duration maxBackgroundQueueWait;
+
+    @Value("${app.upstream.backoff.initial:PT0.5S}")
+    private Duration initialBackoff;
+
+    @Value("${app.upstream.backoff.max:PT30S}")
+    private Duration maxBackoff;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final PriorityBlockingQueue<PendingCall> queue = new PriorityBlockingQueue<>(64,
+            Comparator.comparing((PendingCall call) -> call.priority).thenComparingLong(call -> call.sequence));
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "upstream-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile long pausedUntilNanos = System.nanoTime();
+    private TokenBucket permits;
+
+    @PostConstruct
+    void init() {
+        permits = new TokenBucket(burst, ratePerSecond);
+        Gauge.builder("upstream.queue.size", queue, PriorityBlockingQueue::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        Priority priority = request.attribute(PRIORITY_ATTRIBUTE)
+                .map(Priority.class::cast)
+                .orElse(Priority.INTERACTIVE);
+        long deadline = deadline(priority);
+
+        UpstreamCallEvent event = UpstreamCallEvent.start(request, priority);
+        if (event == null) {
+            return exchange(request, next, priority, deadline, 0, null);
+        }
+        return exchange(request, next, priority, deadline, 0, event)
+                .map(event::completeWith)
+                .doOnError(event::failed)
+                .doOnCancel(event::finish);
+    }
+
+    private Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next,
+                                          Priority priority, long deadline, int attempt, UpstreamCallEvent event) {
+        if (event != null) {
+            event.queued();
+        }
+        return admit(priority, deadline)
+                .then(Mono.defer(() -> {
+                    if (event == null) {
+                        return next.exchange(request);
+                    }
+                    event.dispatched();
+                    return event.attach(next.exchange(request));
+                }))
+                .flatMap(response -> {
+                    if (!backOff(request.url().getPath(), response.statusCode(),
+                            response.headers().asHttpHeaders(), attempt, deadline)) {
+                        return Mono.just(response);
+                    }
+                    return response.releaseBody()
+                            .then(exchange(request, next, priority, deadline, attempt + 1, event));
+                });
+    }
+
+    /**
+     * Run blocking calls, e.g. through the {@code RestTemplate}, at the given priority on the
+     * current thread; calls outside such a block are interactive
+     */
+    public static <T> T withPriority(Priority priority, Supplier<T> calls) {
+        Priority previous = BLOCKING_PRIORITY.get();
+        BLOCKING_PRIORITY.set(priority);
+        try {
+            return calls.get();
+        } finally {
+            if (previous != null) {
+                BLOCKING_PRIORITY.set(previous);
+            } else {
+                BLOCKING_PRIORITY.remove();
+            }
+        }
+    }
+
+    /**
+     * RestTemplate calls block the caller while they wait for a permit; their priority comes
+     * from {@link #withPriority}
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Priority priority = BLOCKING_PRIORITY.get() != null ? BLOCKING_PRIORITY.get() : Priority.INTERACTIVE;
+        long deadline = deadline(priority);
+        UpstreamCallEvent event = UpstreamCallEvent.start(request.getMethod().name(), request.getURI().getPath(), priority);
+        try {
+            for (int attempt = 0; ; attempt++) {
+                if (event != null) {
+                    event.queued();
+                }
+                admit(priority, deadline).block();
+                if (event != null) {
+                    event.dispatched();
+                }
+                ClientHttpResponse response = execution.execute(request, body);
+                if (!backOff(request.getURI().getPath(), response.getStatusCode(), response.getHeaders(), attempt, deadline)) {
+                    return event == null ? response : new RecordedResponse(response, event);
+                }
+                response.close();
+            }
+        } catch (IOException | RuntimeException e) {
+            if (event != null) {
+                event.failed(e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Queue deadline for a call of the given priority that starts now, in {@link System#nanoTime()} terms
+     */
+    public long deadline(Priority priority) {
+        Duration maxWait = priority == Priority.BACKGROUND ? maxBackgroundQueueWait : maxQueueWait;
+        return System.nanoTime() + maxWait.toNanos();
+    }
+
+    /**
+     * Complete once the call may be sent; fails with {@link UpstreamUnavailableException} when the
+     * queue is full or the deadline passes first. Blocking clients {@code block()} on it.
+     */
+    public Mono<Void> admit(Priority priority, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        return Mono.<Void>create(sink -> {
+            if (queue.size() >= maxQueueSize) {
+                sink.error(UpstreamUnavailableException.QUEUE_FULL);
+                return;
+            }
+            PendingCall call = new PendingCall(priority, sequence.incrementAndGet(), sink);
+            sink.onCancel(() -> call.cancelled = true);
+            queue.add(call);
+            scheduleDrain(0);
+        }).timeout(Duration.ofNanos(Math.max(0, remaining)),
+                Mono.error(UpstreamUnavailableException.QUEUE_TIMEOUT));
+    }
+
+    /**
+     * Check an upstream answer. A 429 or 5xx pauses all dispatching for the {@code Retry-After}
+     * period or the backoff of this attempt.
+     * @return {@code true} if the caller should release the answer and retry through {@link #admit},
+     *         {@code false} if it should use the answer as it is
+     */
+    public boolean backOff(String path, HttpStatusCode status, HttpHeaders headers, int attempt, long deadline) {
+        if (!isThrottled(status)) {
+            return false;
+        }
+        long backoff = backoffNanos(headers, attempt);
+        pause(backoff);
+        if (System.nanoTime() + backoff - deadline >= 0) {
+            // Out of time, let the caller see the upstream answer
+            return false;
+        }
+        logger.warn("Upstream answered {} for {}, retrying in {} ms", status.value(), path, backoff / 1_000_000);
+        return true;
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        long paused = pausedUntilNanos - System.nanoTime();
+        if (paused > 0) {
+            scheduleDrain(paused);
+            return;
+        }
+        PendingCall call;
+        while ((call = queue.peek()) != null) {
+            if (call.cancelled) {
+                queue.remove(call);
+                continue;
+            }
+            long waitMillis = permits.tryAcquire();
+            if (waitMillis > 0) {
+                scheduleDrain(TimeUnit.MILLISECONDS.toNanos(waitMillis));
+                return;
+            }
+            queue.remove(call);
+            call.sink.success();
+        }
+    }
+
+    private void scheduleDrain(long delayNanos) {
+        if (drainScheduled.compareAndSet(false, true)) {
+            dispatcher.schedule(this::drain, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void pause(long nanos) {
+        long until = System.nanoTime() + nanos;
+        if (until - pausedUntilNanos > 0) {
+            pausedUntilNanos = until;
+        }
+    }
+
+    private static boolean isThrottled(HttpStatusCode status) {
+        return status.value() == HttpStatus.TOO_MANY_REQUESTS.value() || status.is5xxServerError();
+    }
+
+    private long backoffNanos(HttpHeaders headers, int attempt) {
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null) {
+            try {
+                return Math.min(maxBackoff.toNanos(), TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim())));
+            } catch (NumberFormatException e) {
+                try {
+                    long millis = headers.getFirstDate(HttpHeaders.RETRY_AFTER) - System.currentTimeMillis();
+                    return Math.min(maxBackoff.toNanos(), TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis)));
+                } catch (IllegalArgumentException ignored) {
+                    // Unparseable header, fall back to exponential backoff
+                }
+            }
+        }
+        return Math.min(maxBackoff.toNanos(), initialBackoff.toNanos() << Math.min(attempt, 16));
+    }
+
+    /**
+     * Commits the call's event once the RestTemplate has read and closed the response
+     */
+    private static final class RecordedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final UpstreamCallEvent event;
+        private InputStream body;
+
+        private RecordedResponse(ClientHttpResponse response, UpstreamCallEvent event) throws IOException {
+            this.response = response;
+            this.event = event;
+            event.responded(response.getStatusCode().value());
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = event.completeWith(response.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                event.finish();
+            }
+        }
+    }
+
+    private static final class PendingCall {
+        private final Priority priority;
+        private final long sequence;
+        private final MonoSink<Void> sink;
+        private volatile boolean cancelled;
+
+        private PendingCall(Priority priority, long sequence, MonoSink<Void> sink) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.sink = sink;
+        }
+    }
+}
@@ -1,18 +1,59 @@
 package com.example.restfulapi.config;
 
+import com.example.restfulapi.profiling.UpstreamCallEvent;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
 
+    @Value("${dog.api.base-url:https://dog.ceo/api}")
+    private String baseUrl;
+
+    @Value("${app.image-cache.max-connections:32}")
+    private int imageMaxConnections;
+
     @Bean
-    public WebClient webClient() {
+    @Primary
+    public WebClient webClient(UpstreamRequestScheduler upstreamRequestScheduler) {
+        // Same as the default connector, plus the hook that times connection acquisition for JFR
+        HttpClient httpClient = HttpClient.create()
+                .compress(true)
+                .doOnRequest((request, connection) -> UpstreamCallEvent.requestSent(request.currentContextView()));
         return WebClient.builder()
-                .baseUrl("https://dog.ceo/api")
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .baseUrl(baseUrl)
                 .defaultHeader("Content-Type", "application/json")
                 .defaultHeader("User-Agent", "Spring Boot Dog API Client")
+                .filter(upstreamRequestScheduler)
+                .build();
+    }
+
+    /**
+     * Client for images.dog.ceo downloads. It has its own connection pool and no upstream
+     * scheduler: image cache misses neither use the dog.ceo API rate nor wait in its queue,
+     * and a failing image host does not pause API calls. Downloads are still recorded as
+     * {@link UpstreamCallEvent}s.
+     */
+    @Bean
+    public WebClient imageWebClient() {
+        ConnectionProvider connections = ConnectionProvider.builder("dog-images")
+                .maxConnections(imageMaxConnections)
+                .pendingAcquireTimeout(Duration.ofSeconds(10))
+                .build();
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)
+                        .doOnRequest((request, connection) -> UpstreamCallEvent.requestSent(request.currentContextView()))))
+                .defaultHeader("User-Agent", "Spring Boot Dog API Client")
+                .filter(UpstreamCallEvent::record)
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.example.restfulapi.config;
+
+import com.example.restfulapi.logging.RequestLoggingInterceptor;
+import com.example.restfulapi.profiling.RequestRecordingInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private RequestLoggingInterceptor requestLoggingInterceptor;
+
+    @Autowired
+    private RequestRecordingInterceptor requestRecordingInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestLoggingInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(requestRecordingInterceptor).addPathPatterns("/api/**");
+    }
+}
\ No newline at end of file
@@ -1,96 +1,146 @@
 package com.example.restfulapi.controller;
 
-// import com.example.restfulapi.service.DogService;
-import com.example.restfulapi.service.DogWebClientService;
+import com.example.restfulapi.cache.EncodedResponseCache;
+import com.example.restfulapi.cache.ImageDiskCache;
+import com.example.restfulapi.cache.ImageDiskCache.CachedImage;
+import com.example.restfulapi.exception.ErrorResponses;
+import com.example.restfulapi.service.DogCatalogService;
+import com.example.restfulapi.service.DogError;
+import com.example.restfulapi.service.DogImageStreamService;
+import com.example.restfulapi.service.DogResult;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/api/dogs")
 @CrossOrigin(origins = "*")
 public class DogController {
 
+    private static final int MAX_COUNT = 50;
+    private static final Pattern IMAGE_BREED = Pattern.compile("[a-z0-9]+(-[a-z0-9]+)*");
+    private static final Pattern IMAGE_FILE = Pattern.compile("[A-Za-z0-9_][A-Za-z0-9_.-]*\\.(jpe?g|png|gif)");
+
+    @Autowired
+    private DogCatalogService dogCatalogService;
+
+    @Autowired
+    private EncodedResponseCache encodedResponseCache;
+
+    @Autowired
+    private ImageDiskCache imageDiskCache;
+
     @Autowired
-    // private DogService dogService;
-    private DogWebClientService DogWebClientService;
+    private DogImageStreamService dogImageStreamService;
 
     // GET /api/dogs/breeds - Get all dog breeds
+    // served pre-serialized and pre-compressed from the response cache
     @GetMapping("/breeds")
-    public ResponseEntity<List<String>> getAllBreeds() {
-        try {
-            List<String> breeds = DogWebClientService.getAllBreeds();
-            if (breeds.isEmpty()) {
-                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-            }
-            return new ResponseEntity<>(breeds, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+    public ResponseEntity<byte[]> getAllBreeds(HttpServletRequest request) {
+        return encodedResponseCache.serve(request, () -> dogCatalogService.getAllBreeds());
     }
 
     // GET /api/dogs/{breed}/sub-breeds - Get sub-breeds for a specific breed
     @GetMapping("/{breed}/sub-breeds")
-    public ResponseEntity<List<String>> getSubBreeds(@PathVariable String breed) {
-        try {
-            List<String> subBreeds = DogWebClientService.getAllSubBreeds(breed);
-            return new ResponseEntity<>(subBreeds, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<?> getSubBreeds(@PathVariable String breed, HttpServletRequest request) {
+        DogResult<List<String>> subBreeds = dogCatalogService.getAllSubBreeds(breed);
+        if (!subBreeds.isSuccess()) {
+            return ErrorResponses.of(subBreeds.getError(), request);
         }
+        return new ResponseEntity<>(subBreeds.getValue(), HttpStatus.OK);
     }
 
     // GET /api/dogs/random-image - Get a random dog image
     // can use query params count={count} to get multiple images
     @GetMapping("/random-image")
-    public ResponseEntity<List<String>> getRandomDogImage(@RequestParam(defaultValue = "0") int count) {
-        try {
-            if (count > 50) {
-                throw new IllegalArgumentException("Count must be less than or equal to 50");
-            }
-            List<String> imageUrl = DogWebClientService.getRandomDogImages(count);
-            if (imageUrl.isEmpty()) {
-                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-            }
-            return new ResponseEntity<>(imageUrl, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<?> getRandomDogImage(@RequestParam(defaultValue = "0") int count,
+                                               HttpServletRequest request) {
+        if (count > MAX_COUNT) {
+            return ErrorResponses.of(DogError.INVALID_REQUEST, request);
+        }
+        return toResponse(dogCatalogService.getRandomDogImages(count), request);
+    }
+
+    // GET /api/dogs/random-image/stream?breed={breed} - Server-Sent Events stream of random images
+    // all clients of a breed share one poller, new clients get the most recent images first
+    @GetMapping(value = "/random-image/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<String>>> streamRandomDogImages(
+            @RequestParam(required = false) String breed) {
+        if (breed != null && (!IMAGE_BREED.matcher(breed).matches() || !dogCatalogService.isKnownBreed(breed))) {
+            return ResponseEntity.notFound().build();
         }
+        return ResponseEntity.ok(dogImageStreamService.stream(breed));
     }
 
     // GET /api/dogs/{breed}/images - Get all images for a specific breed
+    // served pre-serialized and pre-compressed from the response cache
     @GetMapping("/{breed}/images")
-    public ResponseEntity<List<String>> getAllBreedImages(@PathVariable String breed) {
-        try {
-            List<String> images = DogWebClientService.getAllBreedImages(breed);
-            if (images.isEmpty()) {
-                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-            }
-            return new ResponseEntity<>(images, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+    public ResponseEntity<byte[]> getAllBreedImages(@PathVariable String breed, HttpServletRequest request) {
+        return encodedResponseCache.serve(request, () -> dogCatalogService.getAllBreedImages(breed));
     }
 
     // GET /api/dogs/{breed}/images/random?count={count} - Get all images for a specific breed
     @GetMapping("/{breed}/images/random")
-    public ResponseEntity<List<String>> getRandomBreedImages(
+    public ResponseEntity<?> getRandomBreedImages(
             @PathVariable String breed,
-            @RequestParam(defaultValue = "0") int count) {
-        try {
-            if (count > 50) {
-                throw new IllegalArgumentException("Count must be less than or equal to 50");
-            }
-            List<String> images = DogWebClientService.getRandomBreedImages(breed, count);
-            if (images.isEmpty()) {
-                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-            }
-            return new ResponseEntity<>(images, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+            @RequestParam(defaultValue = "0") int count,
+            HttpServletRequest request) {
+        if (count > MAX_COUNT) {
+            return ErrorResponses.of(DogError.INVALID_REQUEST, request);
+        }
+        return toResponse(dogCatalogService.getRandomBreedImages(breed, count), request);
+    }
+
+    // GET /api/dogs/image/{breed}/{file} - Proxy an images.dog.ceo image through the local disk cache
+    // supports single byte ranges; cache hits are sent with sendfile
+    @GetMapping("/image/{breed}/{file}")
+    public void getImage(@PathVariable String breed, @PathVariable String file,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!IMAGE_BREED.matcher(breed).matches() || !IMAGE_FILE.matcher(file).matches()) {
+            ErrorResponses.write(DogError.IMAGE_NOT_FOUND, request, response);
+            return;
+        }
+        DogResult<CachedImage> image = imageDiskCache.get(breed, file).join();
+        if (!image.isSuccess()) {
+            ErrorResponses.write(image.getError(), request, response);
+            return;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=86400, immutable");
+        FileRegionWriter.write(request, response, image.getValue().getPath(), image.getValue().getSize(),
+                imageContentType(file));
+    }
+
+    private static String imageContentType(String file) {
+        String name = file.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".png")) {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        if (name.endsWith(".gif")) {
+            return MediaType.IMAGE_GIF_VALUE;
+        }
+        return MediaType.IMAGE_JPEG_VALUE;
+    }
+
+    // Error for failures, 204 for an empty list, 200 otherwise
+    private static ResponseEntity<?> toResponse(DogResult<List<String>> result, HttpServletRequest request) {
+        if (!result.isSuccess()) {
+            return ErrorResponses.of(result.getError(), request);
+        }
+        if (result.getValue().isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
+        return new ResponseEntity<>(result.getValue(), HttpStatus.OK);
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.restfulapi.controller;
 
+import com.example.restfulapi.cache.UserCache;
 import com.example.restfulapi.model.User;
 import com.example.restfulapi.repository.UserRepository;
 import jakarta.validation.Valid;
@@ -19,6 +20,9 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserCache userCache;
+
     // GET /api/users - Get all users
     @GetMapping
     public ResponseEntity<List<User>> getAllUsers() {
@@ -36,7 +40,7 @@ public class UserController {
     // GET /api/users/{id} - Get user by ID
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(@PathVariable("id") long id) {
-        Optional<User> userData = userRepository.findById(id);
+        Optional<User> userData = userCache.findById(id);
 
         if (userData.isPresent()) {
             return new ResponseEntity<>(userData.get(), HttpStatus.OK);
@@ -79,7 +83,9 @@ public class UserController {
             existingUser.setEmail(user.getEmail());
             existingUser.setAddress(user.getAddress());
             
-            return new ResponseEntity<>(userRepository.save(existingUser), HttpStatus.OK);
+            User savedUser = userRepository.save(existingUser);
+            userCache.invalidate(id);
+            return new ResponseEntity<>(savedUser, HttpStatus.OK);
         } else {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
@@ -91,6 +97,7 @@ public class UserController {
         try {
             if (userRepository.existsById(id)) {
                 userRepository.deleteById(id);
+                userCache.invalidate(id);
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
             } else {
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -105,6 +112,7 @@ public class UserController {
     public ResponseEntity<HttpStatus> deleteAllUsers() {
         try {
             userRepository.deleteAll();
+            userCache.invalidateAll();
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
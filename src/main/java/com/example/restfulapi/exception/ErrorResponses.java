@@ -0,0 +1,87 @@
+package com.example.restfulapi.exception;
+
+import com.example.restfulapi.service.DogError;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Writes error bodies straight to JSON bytes.
+ * Produces the same fields the handlers always returned (timestamp, status, error, message, path)
+ * without a map, a Jackson pass or a fresh timestamp per error; the timestamp is formatted at
+ * most once per second.
+ */
+public final class ErrorResponses {
+
+    private static volatile CachedTimestamp timestamp = new CachedTimestamp(0, "");
+
+    private ErrorResponses() {
+    }
+
+    public static ResponseEntity<byte[]> of(DogError error, HttpServletRequest request) {
+        return of(error.getStatus(), error.getMessage(), request.getRequestURI());
+    }
+
+    public static ResponseEntity<byte[]> of(HttpStatus status, String message, String path) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body(status, message, path));
+    }
+
+    /**
+     * Write the error straight to a servlet response, for handlers that stream their own body
+     */
+    public static void write(DogError error, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        byte[] body = body(error.getStatus(), error.getMessage(), request.getRequestURI());
+        response.setStatus(error.getStatus().value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    static byte[] body(HttpStatus status, String message, String path) {
+        StringBuilder json = new StringBuilder(128 + message.length() + path.length());
+        json.append("{\"timestamp\":\"").append(currentTimestamp())
+                .append("\",\"status\":").append(status.value())
+                .append(",\"error\":\"").append(status.getReasonPhrase())
+                .append("\",\"message\":\"");
+        appendEscaped(json, message);
+        json.append("\",\"path\":\"");
+        appendEscaped(json, path);
+        json.append("\"}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String currentTimestamp() {
+        long second = System.currentTimeMillis() / 1000;
+        CachedTimestamp cached = timestamp;
+        if (cached.second != second) {
+            cached = new CachedTimestamp(second, LocalDateTime.now().withNano(0).toString());
+            timestamp = cached;
+        }
+        return cached.formatted;
+    }
+
+    private static void appendEscaped(StringBuilder json, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+    }
+
+    private record CachedTimestamp(long second, String formatted) {
+    }
+}
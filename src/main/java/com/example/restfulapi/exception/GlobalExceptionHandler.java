@@ -9,60 +9,50 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.context.request.WebRequest;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
     @ExceptionHandler(RestClientException.class)
-    public ResponseEntity<Map<String, Object>> handleRestClientException(
+    public ResponseEntity<byte[]> handleRestClientException(
             RestClientException ex, WebRequest request) {
         
         logger.error("REST client error: {}", ex.getMessage());
         
-        Map<String, Object> errorDetails = new HashMap<>();
-        errorDetails.put("timestamp", LocalDateTime.now());
-        errorDetails.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
-        errorDetails.put("error", "External API Error");
-        errorDetails.put("message", "Failed to communicate with external service");
-        errorDetails.put("path", request.getDescription(false).replace("uri=", ""));
-        
-        return new ResponseEntity<>(errorDetails, HttpStatus.SERVICE_UNAVAILABLE);
+        return ErrorResponses.of(HttpStatus.SERVICE_UNAVAILABLE,
+                "Failed to communicate with external service", path(request));
+    }
+
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<byte[]> handleUpstreamUnavailableException(
+            UpstreamUnavailableException ex, WebRequest request) {
+
+        logger.error("Upstream unavailable: {}", ex.getMessage());
+
+        return ErrorResponses.of(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), path(request));
     }
 
     @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<Map<String, Object>> handleRuntimeException(
+    public ResponseEntity<byte[]> handleRuntimeException(
             RuntimeException ex, WebRequest request) {
         
         logger.error("Runtime error: {}", ex.getMessage());
         
-        Map<String, Object> errorDetails = new HashMap<>();
-        errorDetails.put("timestamp", LocalDateTime.now());
-        errorDetails.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        errorDetails.put("error", "Internal Server Error");
-        errorDetails.put("message", ex.getMessage());
-        errorDetails.put("path", request.getDescription(false).replace("uri=", ""));
-        
-        return new ResponseEntity<>(errorDetails, HttpStatus.INTERNAL_SERVER_ERROR);
+        return ErrorResponses.of(HttpStatus.INTERNAL_SERVER_ERROR,
+                ex.getMessage() != null ? ex.getMessage() : "Internal Server Error", path(request));
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGenericException(
+    public ResponseEntity<byte[]> handleGenericException(
             Exception ex, WebRequest request) {
         
         logger.error("Unexpected error: {}", ex.getMessage());
         
-        Map<String, Object> errorDetails = new HashMap<>();
-        errorDetails.put("timestamp", LocalDateTime.now());
-        errorDetails.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        errorDetails.put("error", "Internal Server Error");
-        errorDetails.put("message", "An unexpected error occurred");
-        errorDetails.put("path", request.getDescription(false).replace("uri=", ""));
-        
-        return new ResponseEntity<>(errorDetails, HttpStatus.INTERNAL_SERVER_ERROR);
+        return ErrorResponses.of(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred", path(request));
+    }
+
+    private static String path(WebRequest request) {
+        return request.getDescription(false).replace("uri=", "");
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.example.restfulapi.exception;
+
+/**
+ * Thrown when an upstream call could not be scheduled, e.g. the outbound queue is full
+ * or the call waited past its deadline for a slot.
+ * Raised on every rejected call during an overload, so it carries no stack trace.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    public static final UpstreamUnavailableException QUEUE_FULL =
+            new UpstreamUnavailableException("Upstream request queue is full");
+
+    public static final UpstreamUnavailableException QUEUE_TIMEOUT =
+            new UpstreamUnavailableException("Timed out waiting for an upstream slot");
+
+    public UpstreamUnavailableException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.restfulapi.invalidation;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * {@link InvalidationTransport} between application contexts of the same JVM.
+ * With a single context it delivers nothing; with several (e.g. a local multi-node setup) each
+ * batch is handed straight to every other started context on the sender's thread.
+ */
+@Component
+@Lazy
+public class InJvmInvalidationTransport implements InvalidationTransport {
+
+    private static final Set<InJvmInvalidationTransport> MEMBERS = new CopyOnWriteArraySet<>();
+
+    private volatile Consumer<byte[]> receiver;
+
+    @Override
+    public void start(Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+        MEMBERS.add(this);
+    }
+
+    @Override
+    public void send(byte[] batch) {
+        for (InJvmInvalidationTransport member : MEMBERS) {
+            Consumer<byte[]> target = member.receiver;
+            if (member != this && target != null) {
+                target.accept(batch);
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        MEMBERS.remove(this);
+    }
+}
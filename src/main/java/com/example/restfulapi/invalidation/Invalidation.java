@@ -0,0 +1,31 @@
+package com.example.restfulapi.invalidation;
+
+/**
+ * One cache invalidation: a kind of cached data plus the key it applies to.
+ * Encoded on the wire as one type byte and one {@code long} key.
+ * @param type What was invalidated
+ * @param key User id for {@link Type#USER}, catalog version for {@link Type#CATALOG}, unused otherwise
+ */
+public record Invalidation(Type type, long key) {
+
+    public enum Type {
+        /** One user changed or was deleted */
+        USER,
+        /** All users were deleted */
+        ALL_USERS,
+        /** The dog catalog changed upstream */
+        CATALOG
+    }
+
+    public static Invalidation user(long id) {
+        return new Invalidation(Type.USER, id);
+    }
+
+    public static Invalidation allUsers() {
+        return new Invalidation(Type.ALL_USERS, 0);
+    }
+
+    public static Invalidation catalog(long version) {
+        return new Invalidation(Type.CATALOG, version);
+    }
+}
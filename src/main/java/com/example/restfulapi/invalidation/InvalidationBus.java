@@ -0,0 +1,243 @@
+package com.example.restfulapi.invalidation;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Broadcasts cache invalidations to the other nodes and turns theirs into local
+ * {@link RemoteInvalidationEvent}s.
+ * Invalidations published within {@code app.invalidation.batch-window} are collected into one
+ * batch, with repeats of the same invalidation coalesced, and sent once the window closes or
+ * the batch holds {@code app.invalidation.max-batch-size} entries. A batch is a small binary
+ * message: origin node id, batch sequence number, then one type byte and one {@code long} key
+ * per invalidation. Receivers drop their own batches and batches they have already seen.
+ */
+@Component
+public class InvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationBus.class);
+    private static final int MAGIC = 0x43494E56; // "CINV"
+    private static final int HEADER_SIZE = 4 + 8 + 8 + 2;
+    private static final int ENTRY_SIZE = 1 + 8;
+    private static final int MAX_TRACKED_NODES = 1024;
+    private static final Invalidation.Type[] TYPES = Invalidation.Type.values();
+
+    @Value("${app.invalidation.batch-window:PT0.05S}")
+    private Duration batchWindow;
+
+    // 128 entries keep a batch below a typical 1500 byte MTU
+    @Value("${app.invalidation.max-batch-size:128}")
+    private int maxBatchSize;
+
+    @Autowired
+    private InvalidationTransport transport;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final long nodeId = ThreadLocalRandom.current().nextLong();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LinkedHashSet<Invalidation> pending = new LinkedHashSet<>();
+    private final ConcurrentHashMap<Long, ReplayWindow> seen = new ConcurrentHashMap<>();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder batchesSent = new LongAdder();
+    private final LongAdder batchesReceived = new LongAdder();
+    private final LongAdder batchesDuplicate = new LongAdder();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "invalidation-bus");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    void init() {
+        FunctionCounter.builder("invalidation.messages", published, LongAdder::sum)
+                .tag("outcome", "published").register(meterRegistry);
+        FunctionCounter.builder("invalidation.messages", coalesced, LongAdder::sum)
+                .tag("outcome", "coalesced").register(meterRegistry);
+        FunctionCounter.builder("invalidation.messages", received, LongAdder::sum)
+                .tag("outcome", "received").register(meterRegistry);
+        FunctionCounter.builder("invalidation.batches", batchesSent, LongAdder::sum)
+                .tag("outcome", "sent").register(meterRegistry);
+        FunctionCounter.builder("invalidation.batches", batchesReceived, LongAdder::sum)
+                .tag("outcome", "received").register(meterRegistry);
+        FunctionCounter.builder("invalidation.batches", batchesDuplicate, LongAdder::sum)
+                .tag("outcome", "duplicate").register(meterRegistry);
+        transport.start(this::receive);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdownNow();
+        flush();
+        transport.stop();
+    }
+
+    /**
+     * Queue an invalidation for the other nodes; local caches are not touched
+     */
+    public void publish(Invalidation invalidation) {
+        boolean full;
+        boolean first;
+        synchronized (pending) {
+            if (!pending.add(invalidation)) {
+                coalesced.increment();
+                return;
+            }
+            full = pending.size() >= maxBatchSize;
+            first = pending.size() == 1;
+        }
+        published.increment();
+        if (full) {
+            flusher.execute(this::flush);
+        } else if (first) {
+            flusher.schedule(this::flush, batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flush() {
+        while (true) {
+            List<Invalidation> batch;
+            synchronized (pending) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+                Iterator<Invalidation> iterator = pending.iterator();
+                while (iterator.hasNext() && batch.size() < maxBatchSize) {
+                    batch.add(iterator.next());
+                    iterator.remove();
+                }
+            }
+            try {
+                transport.send(encode(batch));
+                batchesSent.increment();
+            } catch (RuntimeException e) {
+                logger.warn("Could not send {} invalidation(s): {}", batch.size(), e.toString());
+            }
+        }
+    }
+
+    private byte[] encode(List<Invalidation> batch) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + batch.size() * ENTRY_SIZE);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeLong(nodeId);
+            out.writeLong(sequence.incrementAndGet());
+            out.writeShort(batch.size());
+            for (Invalidation invalidation : batch) {
+                out.writeByte(invalidation.type().ordinal());
+                out.writeLong(invalidation.key());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void receive(byte[] message) {
+        ByteBuffer buffer = ByteBuffer.wrap(message);
+        long origin;
+        List<Invalidation> invalidations;
+        try {
+            if (buffer.getInt() != MAGIC) {
+                return;
+            }
+            origin = buffer.getLong();
+            long batchSequence = buffer.getLong();
+            if (origin == nodeId) {
+                return;
+            }
+            if (!replayWindow(origin).firstSeen(batchSequence)) {
+                batchesDuplicate.increment();
+                return;
+            }
+            int count = Short.toUnsignedInt(buffer.getShort());
+            invalidations = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int type = buffer.get();
+                long key = buffer.getLong();
+                if (type >= 0 && type < TYPES.length) {
+                    invalidations.add(new Invalidation(TYPES[type], key));
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            logger.warn("Dropping truncated invalidation batch of {} byte(s)", message.length);
+            return;
+        }
+
+        batchesReceived.increment();
+        received.add(invalidations.size());
+        logger.debug("Received {} invalidation(s) from node {}", invalidations.size(), Long.toHexString(origin));
+        eventPublisher.publishEvent(new RemoteInvalidationEvent(this, origin, invalidations));
+    }
+
+    private ReplayWindow replayWindow(long origin) {
+        if (seen.size() >= MAX_TRACKED_NODES && !seen.containsKey(origin)) {
+            // Restarted nodes come back with new ids; forgetting old ones only risks a repeat
+            seen.clear();
+        }
+        return seen.computeIfAbsent(origin, key -> new ReplayWindow());
+    }
+
+    /**
+     * Remembers the last 64 batch sequence numbers of one node. Anything older than the
+     * window is treated as new, since applying an invalidation twice is harmless.
+     */
+    private static final class ReplayWindow {
+
+        private long highest;
+        private long bits;
+
+        synchronized boolean firstSeen(long sequence) {
+            if (sequence > highest) {
+                long shift = sequence - highest;
+                bits = shift >= Long.SIZE ? 1 : (bits << shift) | 1;
+                highest = sequence;
+                return true;
+            }
+            long offset = highest - sequence;
+            if (offset >= Long.SIZE) {
+                return true;
+            }
+            long mask = 1L << offset;
+            if ((bits & mask) != 0) {
+                return false;
+            }
+            bits |= mask;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.restfulapi.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Moves encoded invalidation batches between nodes for the {@link InvalidationBus}.
+ * Picked with {@code app.invalidation.transport}: {@code in-jvm} (default) or {@code multicast},
+ * when the context starts, so the choice also applies to an AOT-processed build.
+ * Delivery is best effort; a transport may deliver a node's own batches back to it.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Start delivering batches sent by other nodes
+     * @param receiver Called with each received batch, possibly from a transport thread
+     */
+    void start(Consumer<byte[]> receiver);
+
+    /**
+     * Send one batch to all other nodes
+     */
+    void send(byte[] batch);
+
+    void stop();
+}
@@ -0,0 +1,106 @@
+package com.example.restfulapi.invalidation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.StandardSocketOptions;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * {@link InvalidationTransport} over UDP multicast, one datagram per batch.
+ * Every node joins {@code app.invalidation.multicast.group} on
+ * {@code app.invalidation.multicast.interface} (loopback by default, for several nodes on one
+ * host); datagrams are not acknowledged or retransmitted. The node receives its own
+ * datagrams too, the {@link InvalidationBus} drops them.
+ */
+@Component
+@Lazy
+public class MulticastInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(MulticastInvalidationTransport.class);
+    private static final int MAX_DATAGRAM_SIZE = 65_507;
+
+    @Value("${app.invalidation.multicast.group:239.255.42.99}")
+    private String group;
+
+    @Value("${app.invalidation.multicast.port:45999}")
+    private int port;
+
+    @Value("${app.invalidation.multicast.interface:lo}")
+    private String interfaceName;
+
+    @Value("${app.invalidation.multicast.ttl:1}")
+    private int ttl;
+
+    private MulticastSocket socket;
+    private InetSocketAddress groupAddress;
+    private Thread reader;
+
+    @Override
+    public void start(Consumer<byte[]> receiver) {
+        try {
+            NetworkInterface networkInterface = NetworkInterface.getByName(interfaceName);
+            if (networkInterface == null) {
+                throw new IllegalStateException("Unknown network interface " + interfaceName);
+            }
+            groupAddress = new InetSocketAddress(InetAddress.getByName(group), port);
+            socket = new MulticastSocket(port);
+            socket.setOption(StandardSocketOptions.IP_MULTICAST_IF, networkInterface);
+            socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            socket.setTimeToLive(ttl);
+            socket.joinGroup(groupAddress, networkInterface);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not join invalidation group " + group + ':' + port, e);
+        }
+
+        reader = new Thread(() -> read(receiver), "invalidation-multicast");
+        reader.setDaemon(true);
+        reader.start();
+        logger.info("Invalidation bus joined multicast group {}:{} on {}", group, port, interfaceName);
+    }
+
+    @Override
+    public void send(byte[] batch) {
+        try {
+            socket.send(new DatagramPacket(batch, batch.length, groupAddress));
+        } catch (IOException e) {
+            logger.warn("Could not send invalidation batch: {}", e.toString());
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (socket != null) {
+            socket.close();
+        }
+    }
+
+    private void read(Consumer<byte[]> receiver) {
+        byte[] buffer = new byte[MAX_DATAGRAM_SIZE];
+        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        while (!socket.isClosed()) {
+            try {
+                packet.setLength(buffer.length);
+                socket.receive(packet);
+                receiver.accept(Arrays.copyOf(buffer, packet.getLength()));
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    logger.warn("Error receiving invalidation batch: {}", e.toString());
+                }
+            } catch (RuntimeException e) {
+                logger.error("Error handling invalidation batch", e);
+            }
+        }
+    }
+}
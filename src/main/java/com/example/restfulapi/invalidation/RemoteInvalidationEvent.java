@@ -0,0 +1,29 @@
+package com.example.restfulapi.invalidation;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Published locally for each invalidation batch received from another node.
+ * Caches holding data named by the invalidations should drop it.
+ */
+public class RemoteInvalidationEvent extends ApplicationEvent {
+
+    private final long originNode;
+    private final List<Invalidation> invalidations;
+
+    public RemoteInvalidationEvent(Object source, long originNode, List<Invalidation> invalidations) {
+        super(source);
+        this.originNode = originNode;
+        this.invalidations = invalidations;
+    }
+
+    public long getOriginNode() {
+        return originNode;
+    }
+
+    public List<Invalidation> getInvalidations() {
+        return invalidations;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.restfulapi.logging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tags each request with its route in the MDC, decides once per request whether its
+ * success logs are sampled, and writes one structured summary line when it completes.
+ * Requests ending in 5xx or an exception are logged at WARN, so they are never sampled away.
+ * An async request (e.g. a stream) keeps its start time and sampling decision across dispatches,
+ * and its MDC keys are cleared when the first dispatch hands it off, so they don't stay on the
+ * container thread.
+ */
+@Component
+public class RequestLoggingInterceptor implements AsyncHandlerInterceptor {
+
+    static final String ROUTE_KEY = "route";
+    static final String SAMPLED_KEY = "sampled";
+    static final String NOT_SAMPLED = "0";
+    private static final String SAMPLED = "1";
+    private static final String START_ATTRIBUTE = RequestLoggingInterceptor.class.getName() + ".start";
+    private static final String SAMPLED_ATTRIBUTE = RequestLoggingInterceptor.class.getName() + ".sampled";
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestLoggingInterceptor.class);
+
+    @Value("${app.logging.success-sample-rate:1.0}")
+    private double defaultSampleRate;
+
+    // e.g. /api/dogs/breeds=0.01,/api/dogs/random-image=0.1
+    @Value("${app.logging.success-sample-rates:}")
+    private String routeSampleRates;
+
+    private final Map<String, Double> sampleRates = new HashMap<>();
+
+    @PostConstruct
+    void init() {
+        for (String entry : routeSampleRates.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator > 0) {
+                sampleRates.put(entry.substring(0, separator).trim(),
+                        Double.parseDouble(entry.substring(separator + 1).trim()));
+            }
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String route = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (route == null) {
+            route = request.getRequestURI();
+        }
+        // Already set when this is the async dispatch of a request
+        String sampled = (String) request.getAttribute(SAMPLED_ATTRIBUTE);
+        if (sampled == null) {
+            double rate = sampleRates.getOrDefault(route, defaultSampleRate);
+            sampled = rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate ? SAMPLED : NOT_SAMPLED;
+            request.setAttribute(SAMPLED_ATTRIBUTE, sampled);
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+
+        MDC.put(ROUTE_KEY, route);
+        MDC.put(SAMPLED_KEY, sampled);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // No afterCompletion on this thread; the async dispatch sets the keys again
+        clearMdc();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        try {
+            Object start = request.getAttribute(START_ATTRIBUTE);
+            long durationMicros = start != null ? (System.nanoTime() - (Long) start) / 1000 : -1;
+            int status = response.getStatus();
+            boolean failed = ex != null || status >= 500;
+
+            // atInfo() consults the turbo filter first, so unsampled requests build nothing here
+            (failed ? logger.atWarn() : logger.atInfo())
+                    .addKeyValue("method", request.getMethod())
+                    .addKeyValue("route", MDC.get(ROUTE_KEY))
+                    .addKeyValue("status", status)
+                    .addKeyValue("durationMicros", durationMicros)
+                    .setCause(ex)
+                    .log("request completed");
+        } finally {
+            clearMdc();
+        }
+    }
+
+    private static void clearMdc() {
+        MDC.remove(ROUTE_KEY);
+        MDC.remove(SAMPLED_KEY);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.restfulapi.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Drops TRACE, DEBUG and INFO logging on request threads that were not picked for sampling
+ * by {@link RequestLoggingInterceptor}. WARN and ERROR always pass.
+ * Turbo filters run before a logging event exists, and also answer {@code isInfoEnabled()}
+ * style checks, so unsampled calls cost neither the event nor its message arguments.
+ */
+public class UnsampledRequestTurboFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        return RequestLoggingInterceptor.NOT_SAMPLED.equals(MDC.get(RequestLoggingInterceptor.SAMPLED_KEY))
+                ? FilterReply.DENY
+                : FilterReply.NEUTRAL;
+    }
+}
@@ -6,7 +6,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "ux_users_email", columnList = "email", unique = true))
 public class User {
     
     @Id
@@ -15,15 +15,16 @@ public class User {
     
     @NotBlank(message = "Name is required")
     @Size(min = 2, max = 50, message = "Name must be between 2 and 50 characters")
-    @Column(nullable = false)
+    @Column(nullable = false, length = 50)
     private String name;
     
     @NotBlank(message = "Email is required")
     @Email(message = "Email should be valid")
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
     
     @Size(max = 100, message = "Address cannot exceed 100 characters")
+    @Column(length = 100)
     private String address;
     
     // Default constructor
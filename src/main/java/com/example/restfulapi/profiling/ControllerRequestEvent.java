@@ -0,0 +1,37 @@
+package com.example.restfulapi.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for one {@code /api/**} request, from handler selection to completion, recorded by
+ * {@link RequestRecordingInterceptor}. Upstream and repository events of the same request
+ * happen within it, on the same thread or with it as their caller thread.
+ */
+@Name("com.example.restfulapi.ControllerRequest")
+@Label("Controller Request")
+@Category({"RESTful API", "Web"})
+@Description("API request handled by a controller")
+@StackTrace(false)
+@Threshold("0 ms")
+public final class ControllerRequestEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Route")
+    String route;
+
+    @Label("Handler")
+    String handler;
+
+    @Label("Status")
+    int status;
+
+    @Label("Failure")
+    String failure;
+}
@@ -0,0 +1,127 @@
+package com.example.restfulapi.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/jfr}: start, inspect and stop an on-demand flight recording.
+ * <ul>
+ *     <li>{@code GET} - state of the current recording</li>
+ *     <li>{@code POST} - start a new recording, replacing the current one; optional
+ *     {@code settings} ({@code default} or {@code profile}), {@code duration} and {@code maxSize}</li>
+ *     <li>{@code DELETE} - stop and discard the current recording</li>
+ * </ul>
+ * The recording is downloaded from {@code /actuator/jfrdump}. Events that copy the process
+ * environment, system properties and command line are left out of it, since those can hold
+ * credentials. Only exposed with the {@code jfr} profile, on the localhost management port.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private static final String RECORDING_NAME = "restful-api-on-demand";
+    private static final List<String> EXCLUDED_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.InitialSecurityProperty",
+            "jdk.JVMInformation");
+
+    @Value("${app.jfr.settings:profile}")
+    private String defaultSettings;
+
+    @Value("${app.jfr.max-age:PT30M}")
+    private Duration maxAge;
+
+    @Value("${app.jfr.max-size-bytes:104857600}")
+    private long defaultMaxSize;
+
+    private Recording recording;
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        return describe(recording);
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable String settings, @Nullable Duration duration,
+                                                  @Nullable Long maxSize) {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : defaultSettings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings " + settings, e);
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        recording = new Recording(configuration);
+        recording.setName(RECORDING_NAME);
+        EXCLUDED_EVENTS.forEach(recording::disable);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize != null ? maxSize : defaultMaxSize);
+        if (duration != null) {
+            recording.setDuration(duration);
+        }
+        recording.start();
+        return describe(recording);
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        return describe(null);
+    }
+
+    /**
+     * Write what the current recording holds so far to a file
+     * @return {@code false} if there is no recording with data to dump
+     */
+    synchronized boolean dump(Path file) {
+        if (recording == null || recording.getState() == RecordingState.NEW
+                || recording.getState() == RecordingState.CLOSED) {
+            return false;
+        }
+        try {
+            recording.dump(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+    private static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime());
+        status.put("duration", recording.getDuration());
+        status.put("maxAge", recording.getMaxAge());
+        status.put("maxSize", recording.getMaxSize());
+        status.put("size", recording.getSize());
+        return status;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.restfulapi.profiling;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.EndpointId;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointsSupplier;
+import org.springframework.boot.actuate.endpoint.web.servlet.WebMvcEndpointHandlerMapping;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Refuses to start when {@code /actuator/jfr} or {@code /actuator/jfrdump} would be served on the
+ * application port, which would put unauthenticated recordings of every request next to the API.
+ * Looks at where the actuator's request mapping ended up rather than at
+ * {@code management.server.port}: the {@code -Pstartup} AOT build decides at build time whether
+ * the actuator gets its own server, so a port set at runtime, e.g. by the {@code jfr} profile,
+ * is ignored there. With a separate management port the mapping lives in the management
+ * server's child context, not in this one.
+ */
+@Component
+public class FlightRecorderExposureCheck implements SmartInitializingSingleton {
+
+    private static final Set<EndpointId> RECORDING_ENDPOINTS = Set.of(EndpointId.of("jfr"), EndpointId.of("jfrdump"));
+
+    @Autowired
+    private ObjectProvider<WebMvcEndpointHandlerMapping> endpointMappings;
+
+    @Autowired
+    private ObjectProvider<WebEndpointsSupplier> webEndpoints;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (endpointMappings.getIfAvailable() == null) {
+            return;
+        }
+        boolean exposed = webEndpoints.orderedStream()
+                .flatMap(supplier -> supplier.getEndpoints().stream())
+                .anyMatch(endpoint -> RECORDING_ENDPOINTS.contains(endpoint.getEndpointId()));
+        if (exposed) {
+            throw new IllegalStateException("Flight recording endpoints would be served on the application port. "
+                    + "Set management.server.port to a separate port; the -Pstartup AOT build fixes the "
+                    + "management port at build time, so run it without the jfr profile");
+        }
+    }
+}
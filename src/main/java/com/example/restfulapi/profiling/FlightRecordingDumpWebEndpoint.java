@@ -0,0 +1,69 @@
+package com.example.restfulapi.profiling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * {@code GET /actuator/jfrdump}: download the current on-demand recording of
+ * {@link FlightRecorderEndpoint} as a {@code .jfr} file, without stopping it.
+ * Responds 404 when no recording is running.
+ */
+@Component
+@WebEndpoint(id = "jfrdump")
+public class FlightRecordingDumpWebEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingDumpWebEndpoint.class);
+
+    @Autowired
+    private FlightRecorderEndpoint flightRecorderEndpoint;
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource dump() throws IOException {
+        Path file = Files.createTempFile("restful-api-", ".jfr");
+        if (!flightRecorderEndpoint.dump(file)) {
+            Files.deleteIfExists(file);
+            return null;
+        }
+        return new TemporaryFileResource(file);
+    }
+
+    /**
+     * The dump file, deleted once it has been streamed to the client
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        try {
+                            Files.deleteIfExists(getFile().toPath());
+                        } catch (IOException e) {
+                            logger.warn("Could not delete JFR dump {}: {}", getPath(), e.getMessage());
+                        }
+                    }
+                }
+            };
+        }
+    }
+}
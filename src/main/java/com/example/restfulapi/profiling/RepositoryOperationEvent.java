@@ -0,0 +1,34 @@
+package com.example.restfulapi.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for one call of a Spring Data repository method, recorded by
+ * {@link RepositoryRecordingPostProcessor}
+ */
+@Name("com.example.restfulapi.RepositoryOperation")
+@Label("Repository Operation")
+@Category({"RESTful API", "Database"})
+@Description("Call of a Spring Data repository method")
+@StackTrace(false)
+@Threshold("0 ms")
+public final class RepositoryOperationEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Result Count")
+    @Description("Size of a collection, page or optional result; -1 for other results")
+    int resultCount;
+
+    @Label("Failure")
+    String failure;
+}
@@ -0,0 +1,78 @@
+package com.example.restfulapi.profiling;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Adds a {@link RepositoryOperationEvent} recording advice to every Spring Data repository proxy.
+ * Hooks into the repository factory beans before they create their proxies, so no AspectJ
+ * pointcut is evaluated per call; the advice costs one {@code isEnabled()} check while no
+ * recording has the event enabled.
+ */
+@Component
+public class RepositoryRecordingPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(
+                            new RecordingInterceptor(information.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private static final class RecordingInterceptor implements MethodInterceptor {
+
+        private final String repository;
+
+        private RecordingInterceptor(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            RepositoryOperationEvent event = new RepositoryOperationEvent();
+            if (!event.isEnabled()) {
+                return invocation.proceed();
+            }
+            event.begin();
+            event.resultCount = -1;
+            try {
+                Object result = invocation.proceed();
+                event.resultCount = resultCount(result);
+                return result;
+            } catch (Throwable e) {
+                event.failure = e.getClass().getName();
+                throw e;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.repository = repository;
+                    event.method = invocation.getMethod().getName();
+                    event.commit();
+                }
+            }
+        }
+
+        private static int resultCount(Object result) {
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Slice<?> slice) {
+                return slice.getNumberOfElements();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            return -1;
+        }
+    }
+}
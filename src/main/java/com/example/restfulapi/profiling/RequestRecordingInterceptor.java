@@ -0,0 +1,47 @@
+package com.example.restfulapi.profiling;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records a {@link ControllerRequestEvent} per request while a recording has it enabled;
+ * otherwise it only checks {@code isEnabled()} and keeps nothing.
+ */
+@Component
+public class RequestRecordingInterceptor implements HandlerInterceptor {
+
+    private static final String EVENT_ATTRIBUTE = RequestRecordingInterceptor.class.getName() + ".event";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ControllerRequestEvent event = new ControllerRequestEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            request.setAttribute(EVENT_ATTRIBUTE, event);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(EVENT_ATTRIBUTE) instanceof ControllerRequestEvent event)) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.route = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (handler instanceof HandlerMethod handlerMethod) {
+                event.handler = handlerMethod.getBeanType().getSimpleName() + '.' + handlerMethod.getMethod().getName();
+            }
+            event.status = response.getStatus();
+            event.failure = ex != null ? ex.getClass().getName() : null;
+            event.commit();
+        }
+    }
+}
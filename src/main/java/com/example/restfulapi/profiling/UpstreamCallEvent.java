@@ -0,0 +1,236 @@
+package com.example.restfulapi.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * JFR event for one outbound call, from entering the upstream scheduler until the response body
+ * has been consumed or released.
+ * Recorded by {@code UpstreamRequestScheduler} for the {@code WebClient} and {@code RestTemplate}
+ * backends, by {@code JdkHttpDogCatalogClient} for the JDK {@code HttpClient}, and by
+ * {@link #record} for image downloads, which bypass the scheduler. When no recording has the
+ * event enabled {@link #start} returns {@code null} and the call is not touched.
+ */
+@Name("com.example.restfulapi.UpstreamCall")
+@Label("Upstream Call")
+@Category({"RESTful API", "Upstream"})
+@Description("Outbound dog.ceo API call or image download")
+@StackTrace(false)
+@Threshold("0 ms")
+public final class UpstreamCallEvent extends jdk.jfr.Event {
+
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+    private static final Object CONTEXT_KEY = UpstreamCallEvent.class;
+
+    /**
+     * Priority recorded for calls that do not go through the upstream scheduler
+     */
+    public static final String UNSCHEDULED = "UNSCHEDULED";
+
+    @Label("Method")
+    String method;
+
+    @Label("URI Template")
+    @Description("URI template of the call; RestTemplate calls only expose the expanded path")
+    String uriTemplate;
+
+    @Label("Priority")
+    @Description("Scheduler priority, UNSCHEDULED for image downloads")
+    String priority;
+
+    @Label("Status")
+    @Description("HTTP status of the last attempt, 0 if no response was received")
+    int status;
+
+    @Label("Response Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Queue Time")
+    @Description("Time spent waiting for a dispatch permit, summed over all attempts")
+    @Timespan
+    long queueTime;
+
+    @Label("Connect Time")
+    @Description("Time from dispatch until the request was written: acquiring a pooled connection or opening a new one. "
+            + "Only measured for WebClient calls")
+    @Timespan
+    long connectTime;
+
+    @Label("Attempts")
+    int attempts;
+
+    @Label("Failure")
+    String failure;
+
+    @Label("Caller Thread")
+    @Description("Thread that subscribed to the call, e.g. the request thread blocking on it")
+    Thread callerThread;
+
+    private transient long queuedAtNanos;
+    private transient long dispatchedAtNanos;
+    private transient boolean done;
+
+    /**
+     * Begin recording a {@code WebClient} call
+     * @return The event, or {@code null} when the event is disabled
+     */
+    public static UpstreamCallEvent start(ClientRequest request, Object priority) {
+        return start(request.method().name(),
+                request.attribute(URI_TEMPLATE_ATTRIBUTE).map(Object::toString).orElse(request.url().getPath()),
+                priority);
+    }
+
+    /**
+     * Begin recording a call
+     * @return The event, or {@code null} when the event is disabled
+     */
+    public static UpstreamCallEvent start(String method, String uriTemplate, Object priority) {
+        UpstreamCallEvent event = new UpstreamCallEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        event.method = method;
+        event.uriTemplate = uriTemplate;
+        event.priority = String.valueOf(priority);
+        event.callerThread = Thread.currentThread();
+        return event;
+    }
+
+    /**
+     * Record a {@code WebClient} call that is sent right away, without the upstream scheduler
+     */
+    public static Mono<ClientResponse> record(ClientRequest request, ExchangeFunction next) {
+        UpstreamCallEvent event = start(request, UNSCHEDULED);
+        if (event == null) {
+            return next.exchange(request);
+        }
+        event.queued();
+        event.dispatched();
+        return event.attach(next.exchange(request))
+                .map(event::completeWith)
+                .doOnError(event::failed)
+                .doOnCancel(event::finish);
+    }
+
+    /**
+     * An attempt starts waiting for a dispatch permit
+     */
+    public void queued() {
+        attempts++;
+        queuedAtNanos = System.nanoTime();
+    }
+
+    /**
+     * An attempt got its permit and is being sent
+     */
+    public void dispatched() {
+        dispatchedAtNanos = System.nanoTime();
+        queueTime += dispatchedAtNanos - queuedAtNanos;
+    }
+
+    /**
+     * Make the event visible to {@link #requestSent(ContextView)} for the given exchange
+     */
+    public Mono<ClientResponse> attach(Mono<ClientResponse> exchange) {
+        return exchange.contextWrite(context -> context.put(CONTEXT_KEY, this));
+    }
+
+    /**
+     * Called by the HTTP client when a request is written; records the connect time of the
+     * call whose exchange carries an event
+     */
+    public static void requestSent(ContextView context) {
+        context.<UpstreamCallEvent>getOrEmpty(CONTEXT_KEY).ifPresent(event ->
+                event.connectTime = System.nanoTime() - event.dispatchedAtNanos);
+    }
+
+    /**
+     * Wrap the final response so the event is committed once its body is consumed
+     */
+    public ClientResponse completeWith(ClientResponse response) {
+        status = response.statusCode().value();
+        return response.mutate()
+                .body(body -> body
+                        .doOnNext(buffer -> bytes += buffer.readableByteCount())
+                        .doFinally(signal -> finish()))
+                .build();
+    }
+
+    /**
+     * Record the status of the final blocking response
+     */
+    public void responded(int status) {
+        this.status = status;
+    }
+
+    /**
+     * Wrap the body of the final blocking response so the event is committed once it is closed
+     */
+    public InputStream completeWith(InputStream body) {
+        return new FilterInputStream(body) {
+            @Override
+            public int read() throws IOException {
+                int read = super.read();
+                if (read >= 0) {
+                    bytes++;
+                }
+                return read;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = super.read(buffer, offset, length);
+                if (read > 0) {
+                    bytes += read;
+                }
+                return read;
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    finish();
+                }
+            }
+        };
+    }
+
+    public void failed(Throwable error) {
+        failure = error.getClass().getName();
+        finish();
+    }
+
+    /**
+     * Commit once; later calls (e.g. a cancel after the body completed) are ignored
+     */
+    public void finish() {
+        if (done) {
+            return;
+        }
+        done = true;
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
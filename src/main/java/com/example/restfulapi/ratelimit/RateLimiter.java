@@ -0,0 +1,146 @@
+package com.example.restfulapi.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-client and global admission control for the public API.
+ * Every client key gets its own {@link TokenBucket}; all requests additionally draw from one
+ * global bucket. The client map is bounded: once it is full, idle buckets (fully refilled and
+ * unused for a sweep interval) are swept, and clients that still do not fit share a single
+ * overflow bucket.
+ */
+@Component
+public class RateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = 1_000_000_000L;
+
+    @Value("${app.rate-limit.client.capacity:20}")
+    private int clientCapacity;
+
+    @Value("${app.rate-limit.client.refill-per-second:10}")
+    private int clientRefillPerSecond;
+
+    @Value("${app.rate-limit.global.capacity:500}")
+    private int globalCapacity;
+
+    @Value("${app.rate-limit.global.refill-per-second:200}")
+    private int globalRefillPerSecond;
+
+    @Value("${app.rate-limit.max-clients:10000}")
+    private int maxClients;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, ClientBucket> clientBuckets = new ConcurrentHashMap<>();
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByClient = new LongAdder();
+    private final LongAdder rejectedByGlobal = new LongAdder();
+
+    private volatile long lastSweepNanos = System.nanoTime();
+    private TokenBucket globalBucket;
+    private TokenBucket overflowBucket;
+
+    @PostConstruct
+    void init() {
+        globalBucket = new TokenBucket(globalCapacity, globalRefillPerSecond);
+        overflowBucket = new TokenBucket(clientCapacity, clientRefillPerSecond);
+
+        FunctionCounter.builder("ratelimit.requests", allowed, LongAdder::sum)
+                .tag("outcome", "allowed").register(meterRegistry);
+        FunctionCounter.builder("ratelimit.requests", rejectedByClient, LongAdder::sum)
+                .tag("outcome", "rejected_client").register(meterRegistry);
+        FunctionCounter.builder("ratelimit.requests", rejectedByGlobal, LongAdder::sum)
+                .tag("outcome", "rejected_global").register(meterRegistry);
+        Gauge.builder("ratelimit.clients", clientBuckets, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    /**
+     * Admit one request for the given client
+     * @param clientKey Identifies the caller, e.g. its remote address
+     * @return 0 if the request is admitted, otherwise milliseconds until it could be retried
+     */
+    public long tryAcquire(String clientKey) {
+        TokenBucket clientBucket = bucketFor(clientKey);
+        long wait = clientBucket.tryAcquire();
+        if (wait > 0) {
+            rejectedByClient.increment();
+            return wait;
+        }
+        wait = globalBucket.tryAcquire();
+        if (wait > 0) {
+            // The request is not served, so it must not count against the client
+            clientBucket.refund();
+            rejectedByGlobal.increment();
+            return wait;
+        }
+        allowed.increment();
+        return 0;
+    }
+
+    private TokenBucket bucketFor(String clientKey) {
+        while (true) {
+            ClientBucket bucket = clientBuckets.get(clientKey);
+            if (bucket == null) {
+                if (clientBuckets.size() >= maxClients) {
+                    sweepIdleBuckets();
+                    if (clientBuckets.size() >= maxClients) {
+                        return overflowBucket;
+                    }
+                }
+                bucket = clientBuckets.computeIfAbsent(clientKey,
+                        key -> new ClientBucket(clientCapacity, clientRefillPerSecond));
+            }
+            // Touch, then check the mark; the sweep marks, then checks the touch
+            bucket.lastUsedNanos = System.nanoTime();
+            if (!bucket.swept) {
+                return bucket;
+            }
+        }
+    }
+
+    private void sweepIdleBuckets() {
+        // At most one sweep per second, so a flood of new clients cannot turn every miss into a full scan
+        long now = System.nanoTime();
+        long last = lastSweepNanos;
+        if (now - last < SWEEP_INTERVAL_NANOS) {
+            return;
+        }
+        lastSweepNanos = now;
+        // A full bucket behaves exactly like a fresh one, so dropping it loses nothing. Buckets
+        // touched within the last interval may be in use by a request, so they stay; a request
+        // that sees the mark looks the bucket up again instead of drawing from a removed one.
+        for (String clientKey : clientBuckets.keySet()) {
+            clientBuckets.computeIfPresent(clientKey, (key, bucket) -> {
+                if (!bucket.isFull()) {
+                    return bucket;
+                }
+                bucket.swept = true;
+                if (System.nanoTime() - bucket.lastUsedNanos < SWEEP_INTERVAL_NANOS) {
+                    bucket.swept = false;
+                    return bucket;
+                }
+                return null;
+            });
+        }
+    }
+
+    private static final class ClientBucket extends TokenBucket {
+        private volatile long lastUsedNanos = System.nanoTime();
+        // Set while the sweep decides, and for good once the bucket is removed
+        private volatile boolean swept;
+
+        private ClientBucket(int capacity, int refillPerSecond) {
+            super(capacity, refillPerSecond);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.restfulapi.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * The whole state lives in one {@code long}: the upper 40 bits hold the last refill time in
+ * milliseconds (relative to the bucket's creation) and the lower 24 bits hold the available
+ * tokens in thousandths of a token. Acquiring is a single CAS on that word, refilling
+ * happens lazily inside the same CAS.
+ */
+public class TokenBucket {
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE_TOKEN = 1000;
+
+    /** Largest capacity that fits in the token field. */
+    public static final int MAX_CAPACITY = (int) (TOKEN_MASK / ONE_TOKEN);
+
+    private final long capacity;
+    private final long refillPerSecond;
+    private final long origin;
+    private final AtomicLong state;
+
+    /**
+     * @param capacity Maximum burst size in tokens
+     * @param refillPerSecond Tokens added per second
+     */
+    public TokenBucket(int capacity, int refillPerSecond) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        if (refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Refill rate must be positive");
+        }
+        this.capacity = capacity * ONE_TOKEN;
+        this.refillPerSecond = refillPerSecond;
+        this.origin = currentMillis();
+        this.state = new AtomicLong(pack(0, this.capacity));
+    }
+
+    /**
+     * Try to take one token
+     * @return 0 if a token was taken, otherwise the number of milliseconds until one is available
+     */
+    public long tryAcquire() {
+        long now = currentMillis() - origin;
+        while (true) {
+            long current = state.get();
+            long last = current >>> TOKEN_BITS;
+            long tokens = refill(current & TOKEN_MASK, now - last);
+
+            if (tokens < ONE_TOKEN) {
+                return Math.max(1, (ONE_TOKEN - tokens + refillPerSecond - 1) / refillPerSecond);
+            }
+            long next = pack(Math.max(now, last), tokens - ONE_TOKEN);
+            if (state.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Give back a token taken by {@link #tryAcquire()} for a request that was not served after all
+     */
+    public void refund() {
+        while (true) {
+            long current = state.get();
+            long tokens = Math.min(capacity, (current & TOKEN_MASK) + ONE_TOKEN);
+            if (state.compareAndSet(current, pack(current >>> TOKEN_BITS, tokens))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Whether the bucket has refilled completely, i.e. nobody has used it for a while
+     */
+    public boolean isFull() {
+        long current = state.get();
+        long elapsed = currentMillis() - origin - (current >>> TOKEN_BITS);
+        return refill(current & TOKEN_MASK, elapsed) >= capacity;
+    }
+
+    private long refill(long tokens, long elapsedMillis) {
+        if (elapsedMillis <= 0) {
+            return tokens;
+        }
+        // refillPerSecond tokens per second is refillPerSecond thousandths per millisecond;
+        // cap the elapsed time first so the multiplication cannot overflow
+        long maxElapsed = capacity / refillPerSecond + 1;
+        long added = Math.min(elapsedMillis, maxElapsed) * refillPerSecond;
+        return Math.min(capacity, tokens + added);
+    }
+
+    private static long pack(long millis, long tokens) {
+        return (millis << TOKEN_BITS) | tokens;
+    }
+
+    private static long currentMillis() {
+        return System.nanoTime() / 1_000_000;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.restfulapi.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the {@code message} field of dog.ceo responses, shared by the {@link DogCatalogClient}
+ * implementations so they all return the same shapes.
+ */
+final class DogApiMessages {
+
+    private DogApiMessages() {
+    }
+
+    /**
+     * @return The message values; a single string message becomes a one element list
+     */
+    static DogResult<List<String>> toList(JsonNode body) {
+        JsonNode message = body != null ? body.get("message") : null;
+        if (message == null) {
+            return DogResult.failure(DogError.UPSTREAM_ERROR);
+        }
+        if (message.isTextual()) {
+            return DogResult.success(List.of(message.asText()));
+        }
+        List<String> values = new ArrayList<>(message.size());
+        message.forEach(node -> values.add(node.asText()));
+        return DogResult.success(values);
+    }
+
+    /**
+     * @return The field names of an object message, as returned by {@code /breeds/list/all}
+     */
+    static DogResult<List<String>> toKeys(JsonNode body) {
+        JsonNode message = body != null ? body.get("message") : null;
+        if (message == null || !message.isObject()) {
+            return DogResult.failure(DogError.UPSTREAM_ERROR);
+        }
+        List<String> keys = new ArrayList<>(message.size());
+        message.fieldNames().forEachRemaining(keys::add);
+        return DogResult.success(List.copyOf(keys));
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.restfulapi.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the dog.ceo catalog: every breed with its sub-breeds and images.
+ * A new snapshot is built off to the side on each refresh and published with a single
+ * reference swap, so readers never lock and always see a consistent catalog.
+ * Every breed records when its data was last fetched; a listed breed whose data has never
+ * been fetched successfully has no entry.
+ */
+public final class DogCatalog {
+
+    public static final DogCatalog EMPTY = new DogCatalog(0, List.of(), Map.of());
+
+    private final long version;
+    private final Map<String, Breed> breeds;
+    private final List<String> breedNames;
+    private final Set<String> listedBreeds;
+    private final List<String> allImages;
+    private final Instant refreshedAt;
+
+    /**
+     * @param breedNames Every breed dog.ceo lists
+     * @param breeds The breeds with data, a subset of {@code breedNames}
+     */
+    public DogCatalog(long version, List<String> breedNames, Map<String, Breed> breeds) {
+        this.version = version;
+        this.breeds = Collections.unmodifiableMap(new LinkedHashMap<>(breeds));
+        this.breedNames = List.copyOf(breedNames);
+        this.listedBreeds = Set.copyOf(breedNames);
+        List<String> images = new ArrayList<>();
+        Instant oldest = null;
+        for (Breed breed : breeds.values()) {
+            images.addAll(breed.getImages());
+            if (oldest == null || breed.getRefreshedAt().isBefore(oldest)) {
+                oldest = breed.getRefreshedAt();
+            }
+        }
+        this.allImages = Collections.unmodifiableList(images);
+        this.refreshedAt = oldest;
+    }
+
+    public boolean isEmpty() {
+        return breeds.isEmpty();
+    }
+
+    /**
+     * Whether a lookup of this breed has to go to dog.ceo: nothing is loaded yet, or the breed
+     * is listed but its data could not be fetched so far
+     */
+    public boolean isUnloaded(String name) {
+        return breeds.isEmpty() || (listedBreeds.contains(name) && !breeds.containsKey(name));
+    }
+
+    /**
+     * Whether dog.ceo listed the breed in the last successful refresh, with or without its data
+     */
+    public boolean isListed(String name) {
+        return listedBreeds.contains(name);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Map<String, Breed> getBreeds() {
+        return breeds;
+    }
+
+    public List<String> getBreedNames() {
+        return breedNames;
+    }
+
+    public Breed getBreed(String name) {
+        return breeds.get(name);
+    }
+
+    public List<String> getAllImages() {
+        return allImages;
+    }
+
+    /**
+     * When the least recently fetched breed was fetched, null while nothing is loaded
+     */
+    public Instant getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    /**
+     * A breed's data; equality compares the data only, not the fetch time
+     */
+    public static final class Breed {
+
+        private final List<String> subBreeds;
+        private final List<String> images;
+        private final Instant refreshedAt;
+
+        public Breed(List<String> subBreeds, List<String> images, Instant refreshedAt) {
+            this.subBreeds = List.copyOf(subBreeds);
+            this.images = List.copyOf(images);
+            this.refreshedAt = refreshedAt;
+        }
+
+        public List<String> getSubBreeds() {
+            return subBreeds;
+        }
+
+        public List<String> getImages() {
+            return images;
+        }
+
+        public Instant getRefreshedAt() {
+            return refreshedAt;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Breed)) {
+                return false;
+            }
+            Breed other = (Breed) o;
+            return subBreeds.equals(other.subBreeds) && images.equals(other.images);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(subBreeds, images);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DogCatalog{" +
+                "version=" + version +
+                ", breeds=" + breeds.size() +
+                ", images=" + allImages.size() +
+                ", refreshedAt=" + refreshedAt +
+                '}';
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.restfulapi.service;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Client for the dog.ceo API.
+ * The implementation is picked with {@code dog.api.client}: {@code webclient} (default,
+ * {@link DogWebClientService}), {@code resttemplate} ({@link DogService}) or {@code httpclient}
+ * ({@link JdkHttpDogCatalogClient}). The choice is made when the context starts, not when it
+ * is built, so it also applies to an AOT-processed build. Failures are reported as
+ * {@link DogResult} errors.
+ */
+public interface DogCatalogClient {
+
+    /**
+     * Get all dog breeds
+     * @return List of breed names
+     */
+    DogResult<List<String>> getAllBreeds();
+
+    /**
+     * Get the sub-breeds of a breed
+     * @return List of sub-breed names
+     */
+    DogResult<List<String>> getAllSubBreeds(String breed);
+
+    /**
+     * Get random dog images across all breeds
+     * @param count Number of images, 0 for a single image
+     * @return List of image URLs
+     */
+    DogResult<List<String>> getRandomDogImages(int count);
+
+    /**
+     * Get all images of a breed
+     * @return List of image URLs
+     */
+    DogResult<List<String>> getAllBreedImages(String breed);
+
+    /**
+     * Get random images of a breed
+     * @param count Number of images, 0 for a single image
+     * @return List of image URLs
+     */
+    DogResult<List<String>> getRandomBreedImages(String breed, int count);
+
+    /**
+     * Get all dog breeds without blocking the caller; used by the catalog refresh.
+     * Blocking clients run the call on the bounded elastic scheduler.
+     * @return List of breed names
+     */
+    default Mono<DogResult<List<String>>> getAllBreedsAsync() {
+        return Mono.fromCallable(this::getAllBreeds).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Get the sub-breeds of a breed without blocking the caller
+     * @return List of sub-breed names
+     */
+    default Mono<DogResult<List<String>>> getAllSubBreedsAsync(String breed) {
+        return Mono.fromCallable(() -> getAllSubBreeds(breed)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Get all images of a breed without blocking the caller
+     * @return List of image URLs
+     */
+    default Mono<DogResult<List<String>>> getAllBreedImagesAsync(String breed) {
+        return Mono.fromCallable(() -> getAllBreedImages(breed)).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.restfulapi.service;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Published whenever the cached dog breed catalog is reloaded with different content.
+ * Anything derived from the catalog (e.g. pre-encoded responses) should be dropped.
+ */
+public class DogCatalogRefreshedEvent extends ApplicationEvent {
+
+    private final List<String> breeds;
+
+    public DogCatalogRefreshedEvent(Object source, List<String> breeds) {
+        super(source);
+        this.breeds = breeds;
+    }
+
+    public List<String> getBreeds() {
+        return breeds;
+    }
+}
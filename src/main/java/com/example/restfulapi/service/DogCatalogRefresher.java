@@ -0,0 +1,201 @@
+package com.example.restfulapi.service;
+
+import com.example.restfulapi.invalidation.Invalidation;
+import com.example.restfulapi.invalidation.InvalidationBus;
+import com.example.restfulapi.invalidation.RemoteInvalidationEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the in-memory {@link DogCatalog} up to date.
+ * Each run crawls {@code /breeds/list/all} and then every breed's sub-breeds and images with
+ * bounded parallelism, at background upstream priority. The result is diffed against the
+ * current snapshot; a breed whose calls failed keeps its previous data and fetch time, or is
+ * left out if it has none yet, so the staleness gauge reports the oldest data actually served.
+ * The new snapshot is
+ * published with one volatile write, and a {@link DogCatalogRefreshedEvent} is sent only when
+ * something actually changed. A change is also announced on the {@link InvalidationBus}; other
+ * nodes answer it with an immediate refresh of their own instead of waiting for their schedule.
+ */
+@Component
+public class DogCatalogRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(DogCatalogRefresher.class);
+
+    @Autowired
+    private DogCatalogClient dogCatalogClient;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Value("${dog.catalog.refresh.concurrency:8}")
+    private int concurrency;
+
+    private volatile DogCatalog catalog = DogCatalog.EMPTY;
+    private final AtomicBoolean remoteRefreshPending = new AtomicBoolean();
+
+    private Timer refreshTimer;
+    private Counter refreshFailures;
+
+    @PostConstruct
+    void init() {
+        refreshTimer = Timer.builder("dog.catalog.refresh.duration").register(meterRegistry);
+        refreshFailures = Counter.builder("dog.catalog.refresh.failures").register(meterRegistry);
+        Gauge.builder("dog.catalog.staleness.seconds", this, DogCatalogRefresher::stalenessSeconds)
+                .register(meterRegistry);
+        Gauge.builder("dog.catalog.breeds", this, refresher -> refresher.catalog.getBreeds().size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * The current snapshot; {@link DogCatalog#EMPTY} until the first refresh succeeds
+     */
+    public DogCatalog getCatalog() {
+        return catalog;
+    }
+
+    @Scheduled(initialDelayString = "${dog.catalog.refresh.initial-delay:PT0S}",
+            fixedDelayString = "${dog.catalog.refresh.interval:PT10M}")
+    public void refresh() {
+        refresh(true);
+    }
+
+    /**
+     * Another node saw the catalog change; refresh now on the scheduling thread, so this never
+     * overlaps a scheduled run. Several notices arriving before it starts share one refresh.
+     */
+    @EventListener
+    public void onRemoteInvalidation(RemoteInvalidationEvent event) {
+        boolean catalogChanged = event.getInvalidations().stream()
+                .anyMatch(invalidation -> invalidation.type() == Invalidation.Type.CATALOG);
+        if (catalogChanged && remoteRefreshPending.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                remoteRefreshPending.set(false);
+                // Not announced again, the node that noticed the change already did
+                refresh(false);
+            }, Instant.now());
+        }
+    }
+
+    private void refresh(boolean announce) {
+        long start = System.nanoTime();
+        DogCatalog previous = catalog;
+
+        DogResult<List<String>> breeds = dogCatalogClient.getAllBreedsAsync().block();
+        if (breeds == null || !breeds.isSuccess() || breeds.getValue().isEmpty()) {
+            refreshFailures.increment();
+            logger.warn("Dog catalog refresh skipped, breed list unavailable: {}",
+                    breeds != null ? breeds.getError() : null);
+            return;
+        }
+
+        Map<String, DogCatalog.Breed> fetched = Flux.fromIterable(breeds.getValue())
+                .flatMapSequential(breed -> fetchBreed(breed, previous.getBreed(breed))
+                        .map(data -> Map.entry(breed, data)), concurrency)
+                .collect(LinkedHashMap<String, DogCatalog.Breed>::new,
+                        (map, entry) -> map.put(entry.getKey(), entry.getValue()))
+                .block();
+        if (fetched == null || fetched.isEmpty()) {
+            refreshFailures.increment();
+            logger.warn("Dog catalog refresh skipped, no breed could be fetched");
+            return;
+        }
+
+        boolean changed = !fetched.equals(previous.getBreeds()) || !breeds.getValue().equals(previous.getBreedNames());
+        DogCatalog next = new DogCatalog(changed ? previous.getVersion() + 1 : previous.getVersion(),
+                breeds.getValue(), fetched);
+        catalog = next;
+
+        long elapsed = System.nanoTime() - start;
+        refreshTimer.record(Duration.ofNanos(elapsed));
+        if (logger.isInfoEnabled()) {
+            logger.info("Dog catalog refreshed in {} ms: {} ({})", elapsed / 1_000_000, next,
+                    changed ? diff(previous, fetched) : "unchanged");
+        }
+
+        if (changed) {
+            eventPublisher.publishEvent(new DogCatalogRefreshedEvent(this, next.getBreedNames()));
+            // The first load after startup is not news to the other nodes
+            if (announce && !previous.isEmpty()) {
+                invalidationBus.publish(Invalidation.catalog(next.getVersion()));
+            }
+        }
+    }
+
+    // Empty when the breed failed and has no previous data
+    private Mono<DogCatalog.Breed> fetchBreed(String breed, DogCatalog.Breed previous) {
+        return Mono.zip(dogCatalogClient.getAllSubBreedsAsync(breed),
+                        dogCatalogClient.getAllBreedImagesAsync(breed))
+                .mapNotNull(results -> {
+                    DogResult<List<String>> subBreeds = results.getT1();
+                    DogResult<List<String>> images = results.getT2();
+                    if (subBreeds.isSuccess() && images.isSuccess()) {
+                        return new DogCatalog.Breed(subBreeds.getValue(), images.getValue(), Instant.now());
+                    }
+                    if (previous == null) {
+                        logger.warn("Dog catalog refresh left out breed '{}', its data could not be fetched", breed);
+                        return null;
+                    }
+                    logger.warn("Dog catalog refresh kept previous data for breed '{}'", breed);
+                    return previous;
+                });
+    }
+
+    private static String diff(DogCatalog previous, Map<String, DogCatalog.Breed> fetched) {
+        int added = 0;
+        int changed = 0;
+        for (Map.Entry<String, DogCatalog.Breed> entry : fetched.entrySet()) {
+            DogCatalog.Breed old = previous.getBreed(entry.getKey());
+            if (old == null) {
+                added++;
+            } else if (!old.equals(entry.getValue())) {
+                changed++;
+            }
+        }
+        int removed = 0;
+        for (String name : previous.getBreedNames()) {
+            if (!fetched.containsKey(name)) {
+                removed++;
+            }
+        }
+        return added + " added, " + changed + " changed, " + removed + " removed";
+    }
+
+    private double stalenessSeconds() {
+        Instant refreshedAt = catalog.getRefreshedAt();
+        if (refreshedAt == null) {
+            return Double.NaN;
+        }
+        return Duration.between(refreshedAt, Instant.now()).toMillis() / 1000.0;
+    }
+}
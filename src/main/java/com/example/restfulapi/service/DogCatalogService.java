@@ -0,0 +1,169 @@
+package com.example.restfulapi.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serves dog data from the in-memory {@link DogCatalog} kept by {@link DogCatalogRefresher},
+ * so request handling never waits on dog.ceo. Random images are drawn from the catalog too.
+ * Until the first refresh has completed, calls fall through to the configured {@link DogCatalogClient};
+ * so do lookups of a listed breed whose data could not be fetched yet.
+ */
+@Service
+public class DogCatalogService {
+
+    @Autowired
+    private DogCatalogRefresher dogCatalogRefresher;
+
+    @Autowired
+    private DogCatalogClient dogCatalogClient;
+
+    // Breed list fetched for isKnownBreed while the catalog is empty
+    private final AtomicReference<CompletableFuture<DogResult<List<String>>>> breedNamesFetch = new AtomicReference<>();
+
+    /**
+     * Get all dog breeds
+     * @return List of breed names
+     */
+    public DogResult<List<String>> getAllBreeds() {
+        DogCatalog catalog = dogCatalogRefresher.getCatalog();
+        if (catalog.isEmpty()) {
+            return dogCatalogClient.getAllBreeds();
+        }
+        return DogResult.success(catalog.getBreedNames());
+    }
+
+    /**
+     * Whether the breed exists. Until the catalog has loaded, the breed list is fetched from
+     * dog.ceo once and kept; callers arriving while that fetch is in flight wait for it instead of
+     * sending their own. If it fails, no breed counts as known and the next caller tries again.
+     */
+    public boolean isKnownBreed(String breed) {
+        DogCatalog catalog = dogCatalogRefresher.getCatalog();
+        String name = breed.toLowerCase(Locale.ROOT);
+        if (catalog.isEmpty()) {
+            DogResult<List<String>> breedNames = fetchBreedNames();
+            return breedNames.isSuccess() && breedNames.getValue().contains(name);
+        }
+        return catalog.isListed(name) || catalog.getBreed(name) != null;
+    }
+
+    private DogResult<List<String>> fetchBreedNames() {
+        CompletableFuture<DogResult<List<String>>> fetch = breedNamesFetch.get();
+        if (fetch != null) {
+            return fetch.join();
+        }
+        fetch = new CompletableFuture<>();
+        CompletableFuture<DogResult<List<String>>> existing = breedNamesFetch.compareAndExchange(null, fetch);
+        if (existing != null) {
+            return existing.join();
+        }
+        DogResult<List<String>> breedNames = DogResult.failure(DogError.UPSTREAM_UNAVAILABLE);
+        try {
+            breedNames = dogCatalogClient.getAllBreeds();
+            return breedNames;
+        } finally {
+            if (!breedNames.isSuccess()) {
+                // Failures are not kept, the next caller fetches again
+                breedNamesFetch.set(null);
+            }
+            fetch.complete(breedNames);
+        }
+    }
+
+    /**
+     * Get the sub-breeds of a breed
+     * @return List of sub-breed names
+     */
+    public DogResult<List<String>> getAllSubBreeds(String breed) {
+        DogCatalog catalog = dogCatalogRefresher.getCatalog();
+        String name = breed.toLowerCase(Locale.ROOT);
+        if (catalog.isUnloaded(name)) {
+            return dogCatalogClient.getAllSubBreeds(breed);
+        }
+        DogCatalog.Breed data = catalog.getBreed(name);
+        return data != null ? DogResult.success(data.getSubBreeds()) : DogResult.failure(DogError.NOT_FOUND);
+    }
+
+    /**
+     * Get random dog images across all breeds
+     * @param count Number of images, 0 for a single image
+     * @return List of image URLs
+     */
+    public DogResult<List<String>> getRandomDogImages(int count) {
+        DogCatalog catalog = dogCatalogRefresher.getCatalog();
+        if (catalog.isEmpty()) {
+            return dogCatalogClient.getRandomDogImages(count);
+        }
+        return DogResult.success(sample(catalog.getAllImages(), count));
+    }
+
+    /**
+     * Get all images of a breed
+     * @return List of image URLs
+     */
+    public DogResult<List<String>> getAllBreedImages(String breed) {
+        DogCatalog catalog = dogCatalogRefresher.getCatalog();
+        String name = breed.toLowerCase(Locale.ROOT);
+        if (catalog.isUnloaded(name)) {
+            return dogCatalogClient.getAllBreedImages(breed);
+        }
+        DogCatalog.Breed data = catalog.getBreed(name);
+        return data != null ? DogResult.success(data.getImages()) : DogResult.failure(DogError.NOT_FOUND);
+    }
+
+    /**
+     * Get random images of a breed
+     * @param count Number of images, 0 for a single image
+     * @return List of image URLs
+     */
+    public DogResult<List<String>> getRandomBreedImages(String breed, int count) {
+        DogCatalog catalog = dogCatalogRefresher.getCatalog();
+        String name = breed.toLowerCase(Locale.ROOT);
+        if (catalog.isUnloaded(name)) {
+            return dogCatalogClient.getRandomBreedImages(breed, count);
+        }
+        DogCatalog.Breed data = catalog.getBreed(name);
+        return data != null ? DogResult.success(sample(data.getImages(), count)) : DogResult.failure(DogError.NOT_FOUND);
+    }
+
+    // Distinct random picks; like dog.ceo, a count of 0 means a single image
+    private static List<String> sample(List<String> images, int count) {
+        int wanted = Math.max(1, count);
+        if (images.isEmpty()) {
+            return List.of();
+        }
+        if (wanted >= images.size()) {
+            List<String> all = new ArrayList<>(images);
+            Collections.shuffle(all, ThreadLocalRandom.current());
+            return all;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> picked = new ArrayList<>(wanted);
+        int[] indexes = new int[wanted];
+        int found = 0;
+        while (found < wanted) {
+            int index = random.nextInt(images.size());
+            boolean duplicate = false;
+            for (int i = 0; i < found; i++) {
+                if (indexes[i] == index) {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if (!duplicate) {
+                indexes[found++] = index;
+                picked.add(images.get(index));
+            }
+        }
+        return picked;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.restfulapi.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Failure reasons of the dog service layer, each with the HTTP status it maps to
+ */
+public enum DogError {
+
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST, "Count must be less than or equal to 50"),
+    NOT_FOUND(HttpStatus.NOT_FOUND, "Breed not found"),
+    IMAGE_NOT_FOUND(HttpStatus.NOT_FOUND, "Image not found"),
+    UPSTREAM_ERROR(HttpStatus.BAD_GATEWAY, "External service returned an invalid response"),
+    UPSTREAM_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "Failed to communicate with external service"),
+    UPSTREAM_TIMEOUT(HttpStatus.GATEWAY_TIMEOUT, "External service did not respond in time");
+
+    private final HttpStatus status;
+    private final String message;
+
+    DogError(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Map a non-2xx upstream status to an error
+     * @param status The upstream status
+     * @return The matching error
+     */
+    public static DogError fromUpstreamStatus(HttpStatusCode status) {
+        if (status.value() == HttpStatus.NOT_FOUND.value()) {
+            return NOT_FOUND;
+        }
+        if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                || status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            return UPSTREAM_UNAVAILABLE;
+        }
+        if (status.value() == HttpStatus.GATEWAY_TIMEOUT.value()) {
+            return UPSTREAM_TIMEOUT;
+        }
+        return UPSTREAM_ERROR;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.restfulapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live streams of random dog images, for all breeds or one breed.
+ * Each stream is one hot {@link Flux} shared by all of its subscribers: a single poller draws
+ * a random image every {@code app.image-stream.interval}, so the cost does not grow with the
+ * number of clients. The last {@code app.image-stream.replay} images are replayed to new
+ * subscribers. Every subscriber gets its own latest-value buffer, so a slow client skips
+ * images instead of holding back the poller or the other clients. A poller stops once its
+ * last subscriber has been gone for {@code app.image-stream.idle-grace}, and its stream is
+ * dropped with it. Callers only ask for breeds the catalog knows.
+ */
+@Service
+public class DogImageStreamService {
+
+    private static final String ALL_BREEDS = "";
+    private static final String EVENT_NAME = "image";
+
+    @Value("${app.image-stream.interval:PT1S}")
+    private Duration interval;
+
+    @Value("${app.image-stream.replay:10}")
+    private int replay;
+
+    @Value("${app.image-stream.idle-grace:PT30S}")
+    private Duration idleGrace;
+
+    // Clients reconnect after this, EventSource does so automatically
+    @Value("${app.image-stream.max-duration:PT30M}")
+    private Duration maxDuration;
+
+    @Autowired
+    private DogCatalogService dogCatalogService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, Flux<ServerSentEvent<String>>> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicInteger pollers = new AtomicInteger();
+    private Counter polls;
+
+    @PostConstruct
+    void init() {
+        polls = Counter.builder("dog.stream.polls").register(meterRegistry);
+        Gauge.builder("dog.stream.subscribers", subscribers, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("dog.stream.pollers", pollers, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Subscribe to random images
+     * @param breed Breed to stream, or {@code null} for all breeds
+     * @return Image URLs as {@code image} events, the poll sequence number as event id
+     */
+    public Flux<ServerSentEvent<String>> stream(String breed) {
+        // One entry per breed with a running poller, or whose poller is starting
+        String key = breed != null ? breed.toLowerCase(Locale.ROOT) : ALL_BREEDS;
+        return streams.computeIfAbsent(key, this::shared)
+                .onBackpressureLatest()
+                .take(maxDuration)
+                .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
+    }
+
+    private Flux<ServerSentEvent<String>> shared(String breed) {
+        AtomicReference<Flux<ServerSentEvent<String>>> self = new AtomicReference<>();
+        Flux<ServerSentEvent<String>> stream = Flux.interval(Duration.ZERO, interval)
+                .doOnSubscribe(subscription -> pollers.incrementAndGet())
+                .doFinally(signal -> {
+                    pollers.decrementAndGet();
+                    // A subscriber that raced this removal restarts the poller of the dropped
+                    // stream; the next caller starts a new one, and both end when idle
+                    streams.remove(breed, self.get());
+                })
+                .onBackpressureDrop()
+                .concatMap(tick -> poll(breed), 0)
+                .index((sequence, image) -> ServerSentEvent.builder(image)
+                        .id(Long.toString(sequence))
+                        .event(EVENT_NAME)
+                        .build())
+                .replay(replay)
+                .refCount(1, idleGrace);
+        self.set(stream);
+        return stream;
+    }
+
+    private Mono<String> poll(String breed) {
+        return Mono.fromCallable(() -> {
+                    polls.increment();
+                    return ALL_BREEDS.equals(breed)
+                            ? dogCatalogService.getRandomDogImages(0)
+                            : dogCatalogService.getRandomBreedImages(breed, 0);
+                })
+                // Only the catalog fallback blocks, while the catalog is still loading
+                .subscribeOn(Schedulers.boundedElastic())
+                .mapNotNull(DogImageStreamService::firstImage);
+    }
+
+    private static String firstImage(DogResult<List<String>> result) {
+        return result.isSuccess() && !result.getValue().isEmpty() ? result.getValue().get(0) : null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.restfulapi.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Outcome of a dog service call: either a value or a {@link DogError}.
+ * Failures are shared pre-allocated instances, so an upstream outage costs no exception,
+ * stack trace or per-call allocation on the error path.
+ * @param <T> The value type
+ */
+public final class DogResult<T> {
+
+    private static final Map<DogError, DogResult<?>> FAILURES = new EnumMap<>(DogError.class);
+
+    static {
+        for (DogError error : DogError.values()) {
+            FAILURES.put(error, new DogResult<>(null, error));
+        }
+    }
+
+    private final T value;
+    private final DogError error;
+
+    private DogResult(T value, DogError error) {
+        this.value = value;
+        this.error = error;
+    }
+
+    public static <T> DogResult<T> success(T value) {
+        return new DogResult<>(value, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> DogResult<T> failure(DogError error) {
+        return (DogResult<T>) FAILURES.get(error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public DogError getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "DogResult{value=" + value + '}' : "DogResult{error=" + error + '}';
+    }
+}
@@ -1,24 +1,42 @@
 package com.example.restfulapi.service;
 
-import com.example.restfulapi.model.DogBreed;
-import com.example.restfulapi.model.DogImage;
+import com.example.restfulapi.config.UpstreamRequestScheduler;
+import com.example.restfulapi.config.UpstreamRequestScheduler.Priority;
+import com.example.restfulapi.exception.UpstreamUnavailableException;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.ArrayList;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.SocketTimeoutException;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
+/**
+ * RestTemplate-based {@link DogCatalogClient}, selected with {@code dog.api.client=resttemplate}.
+ * Calls block the caller, including while they wait in the outbound request scheduler. The
+ * async calls of the catalog refresh run on the bounded elastic scheduler at background priority.
+ */
 @Service
-public class DogService {
+@Lazy
+public class DogService implements DogCatalogClient {
 
     private static final Logger logger = LoggerFactory.getLogger(DogService.class);
-    private static final String DOG_API_BASE_URL = "https://dog.ceo/api";
+
+    @Value("${dog.api.base-url:https://dog.ceo/api}")
+    private String baseUrl;
 
     @Autowired
     private RestTemplate restTemplate;
@@ -27,26 +45,18 @@ public class DogService {
      * Get all dog breeds from the Dog CEO API
      * @return List of breed names
      */
-    public List<String> getAllBreeds() {
-        try {
-            String url = DOG_API_BASE_URL + "/breeds/list/all";
-            logger.info("Fetching all breeds from: {}", url);
-
-            DogBreed response = restTemplate.getForObject(url, DogBreed.class);
-
-            if (response != null && "success".equals(response.getStatus())) {
-                List<String> breedNames = new ArrayList<>(response.getBreeds().keySet());
-                logger.info("Successfully fetched {} breeds", breedNames.size());
-                return breedNames;
-            }
-
-            logger.warn("API response was null or unsuccessful");
-            return new ArrayList<>();
-
-        } catch (RestClientException e) {
-            logger.error("Error fetching breeds from API: {}", e.getMessage());
-            throw new RuntimeException("Failed to fetch dog breeds", e);
+    @Override
+    public DogResult<List<String>> getAllBreeds() {
+        logger.debug("Fetching all breeds using RestTemplate");
+
+        DogResult<JsonNode> response = get("/breeds/list/all");
+        DogResult<List<String>> breedNames = response.isSuccess()
+                ? DogApiMessages.toKeys(response.getValue())
+                : DogResult.failure(response.getError());
+        if (breedNames.isSuccess() && logger.isInfoEnabled()) {
+            logger.info("Successfully fetched {} breeds using RestTemplate", breedNames.getValue().size());
         }
+        return breedNames;
     }
 
     /**
@@ -54,94 +64,97 @@ public class DogService {
      * @param breed The breed name
      * @return List of sub-breeds
      */
-    public List<String> getSubBreeds(String breed) {
-        try {
-            String url = DOG_API_BASE_URL + "/breed/" + breed + "/list";
-            logger.info("Fetching sub-breeds for {} from: {}", breed, url);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<DogBreed> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                entity,
-                DogBreed.class
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                DogBreed dogBreed = response.getBody();
-                if ("success".equals(dogBreed.getStatus())) {
-                    // For sub-breeds, the API returns an array in the message field
-                    return new ArrayList<>(); // Simplified for this example
-                }
-            }
-
-            return new ArrayList<>();
-
-        } catch (RestClientException e) {
-            logger.error("Error fetching sub-breeds for {}: {}", breed, e.getMessage());
-            throw new RuntimeException("Failed to fetch sub-breeds for " + breed, e);
-        }
+    @Override
+    public DogResult<List<String>> getAllSubBreeds(String breed) {
+        logger.debug("Fetching sub-breeds for breed '{}' using RestTemplate", breed);
+        // The API returns the sub-breeds as an array in the message field
+        return getMessageList("/breed/{breed}/list", breed);
     }
 
     /**
-     * Get a random dog image
-     * @return Dog image URL
+     * Get random dog images
+     * @param count Number of images, 0 for a single image
+     * @return List of image URLs
      */
-    public String getRandomDogImage() {
-        try {
-            String url = DOG_API_BASE_URL + "/breeds/image/random";
-            logger.info("Fetching random dog image from: {}", url);
-
-            ResponseEntity<DogImage> response = restTemplate.getForEntity(url, DogImage.class);
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                DogImage dogImage = response.getBody();
-                if ("success".equals(dogImage.getStatus())) {
-                    logger.info("Successfully fetched random dog image");
-                    return dogImage.getImageUrl();
-                }
-            }
-
-            logger.warn("Failed to fetch random dog image");
-            return null;
+    @Override
+    public DogResult<List<String>> getRandomDogImages(int count) {
+        logger.debug("Fetching random dog image using RestTemplate");
+        return count > 0
+                ? getMessageList("/breeds/image/random/{count}", count)
+                : getMessageList("/breeds/image/random");
+    }
 
-        } catch (RestClientException e) {
-            logger.error("Error fetching random dog image: {}", e.getMessage());
-            throw new RuntimeException("Failed to fetch random dog image", e);
-        }
+    /**
+     * Get all images for a specific breed
+     * @param breed The breed name
+     * @return List of image URLs
+     */
+    @Override
+    public DogResult<List<String>> getAllBreedImages(String breed) {
+        logger.debug("Fetching all dog images for breed '{}' using RestTemplate", breed);
+        return getMessageList("/breed/{breed}/images", breed);
     }
 
     /**
      * Get random images for a specific breed
      * @param breed The breed name
-     * @param count Number of images to fetch
+     * @param count Number of images, 0 for a single image
      * @return List of image URLs
      */
-    public List<String> getBreedImages(String breed, int count) {
-        try {
-            String url = DOG_API_BASE_URL + "/breed/" + breed + "/images/random/" + count;
-            logger.info("Fetching {} images for breed {} from: {}", count, breed, url);
+    @Override
+    public DogResult<List<String>> getRandomBreedImages(String breed, int count) {
+        logger.debug("Fetching {} random dog images for breed '{}' using RestTemplate", count, breed);
+        return count > 0
+                ? getMessageList("/breed/{breed}/images/random/{count}", breed, count)
+                : getMessageList("/breed/{breed}/images/random", breed);
+    }
 
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
+    @Override
+    public Mono<DogResult<List<String>>> getAllBreedsAsync() {
+        return background(this::getAllBreeds);
+    }
+
+    @Override
+    public Mono<DogResult<List<String>>> getAllSubBreedsAsync(String breed) {
+        return background(() -> getAllSubBreeds(breed));
+    }
+
+    @Override
+    public Mono<DogResult<List<String>>> getAllBreedImagesAsync(String breed) {
+        return background(() -> getAllBreedImages(breed));
+    }
 
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> responseBody = response.getBody();
-                if ("success".equals(responseBody.get("status"))) {
-                    @SuppressWarnings("unchecked")
-                    List<String> images = (List<String>) responseBody.get("message");
-                    logger.info("Successfully fetched {} images for breed {}", images.size(), breed);
-                    return images != null ? images : new ArrayList<>();
-                }
-            }
+    private static Mono<DogResult<List<String>>> background(Supplier<DogResult<List<String>>> call) {
+        return Mono.fromCallable(() -> UpstreamRequestScheduler.withPriority(Priority.BACKGROUND, call))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
 
-            return new ArrayList<>();
+    private DogResult<List<String>> getMessageList(String uri, Object... uriVariables) {
+        DogResult<JsonNode> response = get(uri, uriVariables);
+        return response.isSuccess() ? DogApiMessages.toList(response.getValue()) : DogResult.failure(response.getError());
+    }
 
+    /**
+     * Perform a GET against dog.ceo, turning every failure into a {@link DogError}
+     */
+    private DogResult<JsonNode> get(String uri, Object... uriVariables) {
+        try {
+            JsonNode body = restTemplate.getForObject(baseUrl + uri, JsonNode.class, uriVariables);
+            return body != null ? DogResult.success(body) : DogResult.failure(DogError.UPSTREAM_ERROR);
+        } catch (HttpStatusCodeException e) {
+            logger.warn("Call to {} failed: {}", uri, e.getStatusCode());
+            return DogResult.failure(DogError.fromUpstreamStatus(e.getStatusCode()));
+        } catch (UpstreamUnavailableException e) {
+            logger.warn("Call to {} not sent: {}", uri, e.getMessage());
+            return DogResult.failure(DogError.UPSTREAM_UNAVAILABLE);
+        } catch (ResourceAccessException e) {
+            logger.error("Error calling {} using RestTemplate: {}", uri, e.getMessage());
+            return DogResult.failure(e.getCause() instanceof SocketTimeoutException
+                    ? DogError.UPSTREAM_TIMEOUT
+                    : DogError.UPSTREAM_UNAVAILABLE);
         } catch (RestClientException e) {
-            logger.error("Error fetching images for breed {}: {}", breed, e.getMessage());
-            throw new RuntimeException("Failed to fetch images for breed " + breed, e);
+            logger.error("Error calling {} using RestTemplate: {}", uri, e.getMessage());
+            return DogResult.failure(DogError.UPSTREAM_ERROR);
         }
     }
 
@@ -153,7 +166,7 @@ public class DogService {
     public boolean addFavoriteBreed(String breedName) {
         try {
             // This is a hypothetical POST endpoint for demonstration
-            String url = DOG_API_BASE_URL + "/favorites";
+            String url = baseUrl + "/favorites";
 
             // Create request body
             Map<String, String> requestBody = Map.of("breed", breedName);
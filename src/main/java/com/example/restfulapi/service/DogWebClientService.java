@@ -1,27 +1,35 @@
 package com.example.restfulapi.service;
 
+import com.example.restfulapi.config.UpstreamRequestScheduler;
+import com.example.restfulapi.config.UpstreamRequestScheduler.Priority;
 import com.example.restfulapi.model.DogBreed;
 import com.example.restfulapi.model.DogImage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Alternative service using WebClient for reactive API consumption
- * This demonstrates the modern, reactive approach to consuming REST APIs
+ * This demonstrates the modern, reactive approach to consuming REST APIs.
+ * Failures are reported as {@link DogResult} errors rather than exceptions.
+ * The default {@link DogCatalogClient}; its calls go through the outbound request scheduler.
  */
 @Service
-public class DogWebClientService {
+@Lazy
+public class DogWebClientService implements DogCatalogClient {
 
     private static final Logger logger = LoggerFactory.getLogger(DogWebClientService.class);
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    // Background calls may queue behind interactive ones, so they get a longer budget
+    private static final Duration BACKGROUND_TIMEOUT = Duration.ofSeconds(60);
 
     @Autowired
     private WebClient webClient;
@@ -30,210 +38,165 @@ public class DogWebClientService {
      * Get all dog breeds using WebClient (reactive approach)
      * @return List of breed names
      */
-    public List<String> getAllBreeds() {
-        try {
-            logger.info("Fetching all breeds using WebClient");
-
-            Mono<DogBreed> response = webClient
-                    .get()
-                    .uri("/breeds/list/all")
-                    .retrieve()
-                    .bodyToMono(DogBreed.class)
-                    .timeout(Duration.ofSeconds(10));
-
-            DogBreed dogBreed = response.block();
-
-            if (dogBreed != null && "success".equals(dogBreed.getStatus())) {
-                List<String> breedNames = new ArrayList<>(dogBreed.getBreeds().keySet());
-                logger.info("Successfully fetched {} breeds using WebClient", breedNames.size());
-                return breedNames;
+    @Override
+    public DogResult<List<String>> getAllBreeds() {
+        return block(getAllBreedsAsync(Priority.INTERACTIVE));
+    }
+
+    /**
+     * Get all dog breeds without blocking, at background priority; used by the catalog refresh
+     * @return List of breed names
+     */
+    @Override
+    public Mono<DogResult<List<String>>> getAllBreedsAsync() {
+        return getAllBreedsAsync(Priority.BACKGROUND);
+    }
+
+    private Mono<DogResult<List<String>>> getAllBreedsAsync(Priority priority) {
+        logger.debug("Fetching all breeds using WebClient");
+
+        return exchange(DogBreed.class, priority, "/breeds/list/all").map(response -> {
+            if (!response.isSuccess()) {
+                return DogResult.failure(response.getError());
             }
 
-            return new ArrayList<>();
+            DogBreed dogBreed = response.getValue();
+            if ("success".equals(dogBreed.getStatus()) && dogBreed.getBreeds() != null) {
+                List<String> breedNames = List.copyOf(dogBreed.getBreeds().keySet());
+                if (logger.isInfoEnabled()) {
+                    logger.info("Successfully fetched {} breeds using WebClient", breedNames.size());
+                }
+                return DogResult.success(breedNames);
+            }
 
-        } catch (Exception e) {
-            logger.error("Error fetching breeds using WebClient: {}", e.getMessage());
-            throw new RuntimeException("Failed to fetch dog breeds", e);
-        }
+            return DogResult.success(List.of());
+        });
     }
 
     /**
      * Get all dog sub-breeds by breed using WebClient (reactive approach)
      * @return List of sub-breed names
      */
-    public List<String> getAllSubBreeds(String breed) {
-        try {
-            logger.info("Fetching all sub-breeds for breed '{}' using WebClient", breed);
-
-            Mono<JsonNode> response = webClient
-                    .get()
-                    .uri("/breed/{breed}/list", breed)
-                    .retrieve()
-                    .bodyToMono(JsonNode.class)
-                    .timeout(Duration.ofSeconds(10));
-
-            JsonNode jsonNode = response.block();
-
-            if (jsonNode != null && jsonNode.has("message")) {
-                List<String> subBreedNames = new ArrayList<>();
-                jsonNode.get("message").forEach(node -> subBreedNames.add(node.asText()));
-                logger.info("Successfully fetched {} sub-breeds using WebClient", subBreedNames.size());
-                return subBreedNames;
-            }
-
-            return new ArrayList<>();
+    @Override
+    public DogResult<List<String>> getAllSubBreeds(String breed) {
+        logger.debug("Fetching all sub-breeds for breed '{}' using WebClient", breed);
 
-        } catch (Exception e) {
-            logger.error("Error fetching breeds using WebClient: {}", e.getMessage());
-            throw new RuntimeException("Failed to fetch dog breeds", e);
+        DogResult<List<String>> subBreedNames = block(getMessageList(Priority.INTERACTIVE, "/breed/{breed}/list", breed));
+        if (subBreedNames.isSuccess() && logger.isInfoEnabled()) {
+            logger.info("Successfully fetched {} sub-breeds using WebClient", subBreedNames.getValue().size());
         }
+        return subBreedNames;
+    }
+
+    /**
+     * Get the sub-breeds of a breed without blocking, at background priority
+     * @return List of sub-breed names
+     */
+    @Override
+    public Mono<DogResult<List<String>>> getAllSubBreedsAsync(String breed) {
+        return getMessageList(Priority.BACKGROUND, "/breed/{breed}/list", breed);
     }
 
     /**
      * Get a random dog image using WebClient
      * @return Dog image URL
      */
-    public List<String> getRandomDogImages(int count) {
-        try {
-            logger.info("Fetching random dog image using WebClient");
-
-            String uri = count > 0 ? "/breeds/image/random/{count}" : "/breeds/image/random";
-            Mono<JsonNode> response = webClient
-                    .get()
-                    .uri(uri, count)
-                    .retrieve()
-                    .bodyToMono(JsonNode.class)
-                    .timeout(Duration.ofSeconds(10));
-
-            JsonNode dogImage = response.block();
-
-            if (dogImage != null && dogImage.has("message")) {
-                List<String> imageUrls = new ArrayList<>();
-                if (count == 0) {
-                    imageUrls.add(dogImage.get("message").asText());
-                } else {
-                    dogImage.get("message").forEach(node -> imageUrls.add(node.asText()));
-                }
-                logger.info("Successfully fetched {} random dog image(s) using WebClient", imageUrls.size());
-                return imageUrls;
-            }
-
-            return null;
-
-        } catch (Exception e) {
-            logger.error("Error fetching random dog image(s) using WebClient: {}", e.getMessage());
-            throw new RuntimeException("Failed to fetch random dog image", e);
+    @Override
+    public DogResult<List<String>> getRandomDogImages(int count) {
+        logger.debug("Fetching random dog image using WebClient");
+
+        String uri = count > 0 ? "/breeds/image/random/{count}" : "/breeds/image/random";
+        DogResult<List<String>> imageUrls = block(getMessageList(Priority.INTERACTIVE, uri, count));
+        if (imageUrls.isSuccess() && logger.isInfoEnabled()) {
+            logger.info("Successfully fetched {} random dog image(s) using WebClient", imageUrls.getValue().size());
         }
+        return imageUrls;
     }
 
     /**
      * Get all dog images based on breed using WebClient
      * @return Dog image URL
      */
-    public List<String> getAllBreedImages(String breed) {
-        try {
-            logger.info("Fetching random dog image using WebClient");
-
-            Mono<JsonNode> response = webClient
-                    .get()
-                    .uri("/breed/{breed}/images", breed)
-                    .retrieve()
-                    .bodyToMono(JsonNode.class)
-                    .timeout(Duration.ofSeconds(10));
-
-            JsonNode dogImage = response.block();
-
-            if (dogImage != null && dogImage.has("message")) {
-                List<String> imageUrls = new ArrayList<>();
-                dogImage.get("message").forEach(node -> imageUrls.add(node.asText()));
-                logger.info("Successfully fetched all dog breed images using WebClient");
-                return imageUrls;
-            }
-
-            return null;
+    @Override
+    public DogResult<List<String>> getAllBreedImages(String breed) {
+        logger.debug("Fetching all dog images for breed '{}' using WebClient", breed);
 
-        } catch (Exception e) {
-            logger.error("Error fetching random dog image using WebClient: {}", e.getMessage());
-            throw new RuntimeException("Failed to fetch random dog image", e);
+        DogResult<List<String>> imageUrls = block(getMessageList(Priority.INTERACTIVE, "/breed/{breed}/images", breed));
+        if (imageUrls.isSuccess() && logger.isInfoEnabled()) {
+            logger.info("Successfully fetched all dog breed images using WebClient");
         }
+        return imageUrls;
+    }
+
+    /**
+     * Get all images of a breed without blocking, at background priority
+     * @return List of image URLs
+     */
+    @Override
+    public Mono<DogResult<List<String>>> getAllBreedImagesAsync(String breed) {
+        return getMessageList(Priority.BACKGROUND, "/breed/{breed}/images", breed);
     }
 
     /**
      * Get all dog images based on breed using WebClient
      * @return Dog image URL
      */
-    public List<String> getRandomBreedImages(String breed, int count) {
-        try {
-            logger.info("Fetching {} random dog images for breed '{}' using WebClient", count, breed);
-
-            String uri = count > 0 ? "/breed/{breed}/images/random/{count}" : "/breed/{breed}/images/random";
-            Mono<JsonNode> response = webClient
-                    .get()
-                    .uri(uri, breed, count)
-                    .retrieve()
-                    .bodyToMono(JsonNode.class)
-                    .timeout(Duration.ofSeconds(10));
-
-            JsonNode dogImage = response.block();
-
-            if (dogImage != null && dogImage.has("message")) {
-                List<String> imageUrls = new ArrayList<>();
-                if (count == 0) {
-                    imageUrls.add(dogImage.get("message").asText());
-                } else {
-                    dogImage.get("message").forEach(node -> imageUrls.add(node.asText()));
-                }
-                logger.info("Successfully fetched {} random dog image(s) using WebClient", imageUrls.size());
-                return imageUrls;
-            }
-
-            return null;
-
-        } catch (Exception e) {
-            logger.error("Error fetching random dog image using WebClient: {}", e.getMessage());
-            throw new RuntimeException("Failed to fetch random dog image", e);
+    @Override
+    public DogResult<List<String>> getRandomBreedImages(String breed, int count) {
+        logger.debug("Fetching {} random dog images for breed '{}' using WebClient", count, breed);
+
+        String uri = count > 0 ? "/breed/{breed}/images/random/{count}" : "/breed/{breed}/images/random";
+        DogResult<List<String>> imageUrls = block(getMessageList(Priority.INTERACTIVE, uri, breed, count));
+        if (imageUrls.isSuccess() && logger.isInfoEnabled()) {
+            logger.info("Successfully fetched {} random dog image(s) using WebClient", imageUrls.getValue().size());
         }
+        return imageUrls;
     }
 
     /**
-     * Example of error handling with WebClient
-     * @param breed The breed name
-     * @return List of image URLs
+     * Fetch a dog.ceo response whose {@code message} is a string or an array of strings
+     * @return The message values, a single string message becomes a one element list
      */
-    public List<String> getBreedImagesWithErrorHandling(String breed, int count) {
-        try {
-            logger.info("Fetching {} images for breed {} using WebClient with error handling", count, breed);
-
-            Mono<List> response = webClient
-                    .get()
-                    .uri("/breed/{breed}/images/random/{count}", breed, count)
-                    .retrieve()
-                    .onStatus(
-                        status -> status.is4xxClientError(),
-                        clientResponse -> {
-                            logger.warn("Client error: {}", clientResponse.statusCode());
-                            return Mono.error(new RuntimeException("Client error: " + clientResponse.statusCode()));
-                        }
-                    )
-                    .onStatus(
-                        status -> status.is5xxServerError(),
-                        clientResponse -> {
-                            logger.error("Server error: {}", clientResponse.statusCode());
-                            return Mono.error(new RuntimeException("Server error: " + clientResponse.statusCode()));
-                        }
-                    )
-                    .bodyToMono(List.class)
-                    .timeout(Duration.ofSeconds(10))
-                    .doOnError(error -> logger.error("WebClient error: {}", error.getMessage()));
-
-            @SuppressWarnings("unchecked")
-            List<String> images = response.block();
-
-            return images != null ? images : new ArrayList<>();
-
-        } catch (Exception e) {
-            logger.error("Error fetching images for breed {} using WebClient: {}", breed, e.getMessage());
-            throw new RuntimeException("Failed to fetch images for breed " + breed, e);
-        }
+    private Mono<DogResult<List<String>>> getMessageList(Priority priority, String uri, Object... uriVariables) {
+        return exchange(JsonNode.class, priority, uri, uriVariables).map(response ->
+                response.isSuccess() ? DogApiMessages.toList(response.getValue()) : DogResult.failure(response.getError()));
+    }
+
+    /**
+     * Perform a GET against dog.ceo, turning every failure into a {@link DogError}.
+     * Uses {@code exchangeToMono} so non-2xx answers are read as statuses instead of being
+     * raised as {@code WebClientResponseException}s, and a timeout falls back to a value
+     * instead of signalling a {@code TimeoutException}.
+     */
+    private <T> Mono<DogResult<T>> exchange(Class<T> bodyType, Priority priority, String uri, Object... uriVariables) {
+        return webClient
+                .get()
+                .uri(uri, uriVariables)
+                .attribute(UpstreamRequestScheduler.PRIORITY_ATTRIBUTE, priority)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return response.bodyToMono(bodyType).map(DogResult::success);
+                    }
+                    return response.releaseBody()
+                            .thenReturn(DogResult.<T>failure(DogError.fromUpstreamStatus(response.statusCode())));
+                })
+                .timeout(priority == Priority.INTERACTIVE ? TIMEOUT : BACKGROUND_TIMEOUT,
+                        Mono.just(DogResult.failure(DogError.UPSTREAM_TIMEOUT)))
+                .defaultIfEmpty(DogResult.failure(DogError.UPSTREAM_ERROR))
+                .doOnNext(result -> {
+                    if (!result.isSuccess()) {
+                        logger.warn("Call to {} failed: {}", uri, result.getError());
+                    }
+                })
+                // After doOnNext, so every failure is logged exactly once
+                .onErrorResume(e -> {
+                    logger.warn("Call to {} failed: {} ({})", uri, DogError.UPSTREAM_UNAVAILABLE, e.toString());
+                    return Mono.just(DogResult.failure(DogError.UPSTREAM_UNAVAILABLE));
+                });
+    }
+
+    private static <T> DogResult<T> block(Mono<DogResult<T>> result) {
+        DogResult<T> value = result.block();
+        return value != null ? value : DogResult.failure(DogError.UPSTREAM_ERROR);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,244 @@
+package com.example.restfulapi.service;
+
+import com.example.restfulapi.config.UpstreamRequestScheduler;
+import com.example.restfulapi.config.UpstreamRequestScheduler.Priority;
+import com.example.restfulapi.exception.UpstreamUnavailableException;
+import com.example.restfulapi.profiling.UpstreamCallEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.util.UriTemplate;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@link DogCatalogClient} on the JDK {@link HttpClient}, selected with {@code dog.api.client=httpclient}.
+ * Blocking calls use {@code send}; the async calls used by the catalog refresh use {@code sendAsync},
+ * so they hold no thread while waiting. Every attempt is admitted by the
+ * {@link UpstreamRequestScheduler}, interactive for blocking calls and background for async ones,
+ * and recorded as an {@link UpstreamCallEvent} while a flight recording has it enabled.
+ */
+@Service
+@Lazy
+public class JdkHttpDogCatalogClient implements DogCatalogClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdkHttpDogCatalogClient.class);
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration BACKGROUND_TIMEOUT = Duration.ofSeconds(60);
+
+    @Value("${dog.api.base-url:https://dog.ceo/api}")
+    private String baseUrl;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UpstreamRequestScheduler upstreamRequestScheduler;
+
+    private HttpClient httpClient;
+
+    @PostConstruct
+    void init() {
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(CONNECT_TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public DogResult<List<String>> getAllBreeds() {
+        logger.debug("Fetching all breeds using HttpClient");
+        DogResult<List<String>> breedNames = toKeys(get(TIMEOUT, "/breeds/list/all"));
+        if (breedNames.isSuccess() && logger.isInfoEnabled()) {
+            logger.info("Successfully fetched {} breeds using HttpClient", breedNames.getValue().size());
+        }
+        return breedNames;
+    }
+
+    @Override
+    public DogResult<List<String>> getAllSubBreeds(String breed) {
+        logger.debug("Fetching all sub-breeds for breed '{}' using HttpClient", breed);
+        return toList(get(TIMEOUT, "/breed/{breed}/list", breed));
+    }
+
+    @Override
+    public DogResult<List<String>> getRandomDogImages(int count) {
+        logger.debug("Fetching random dog image using HttpClient");
+        return count > 0
+                ? toList(get(TIMEOUT, "/breeds/image/random/{count}", count))
+                : toList(get(TIMEOUT, "/breeds/image/random"));
+    }
+
+    @Override
+    public DogResult<List<String>> getAllBreedImages(String breed) {
+        logger.debug("Fetching all dog images for breed '{}' using HttpClient", breed);
+        return toList(get(TIMEOUT, "/breed/{breed}/images", breed));
+    }
+
+    @Override
+    public DogResult<List<String>> getRandomBreedImages(String breed, int count) {
+        logger.debug("Fetching {} random dog images for breed '{}' using HttpClient", count, breed);
+        return count > 0
+                ? toList(get(TIMEOUT, "/breed/{breed}/images/random/{count}", breed, count))
+                : toList(get(TIMEOUT, "/breed/{breed}/images/random", breed));
+    }
+
+    @Override
+    public Mono<DogResult<List<String>>> getAllBreedsAsync() {
+        return getAsync("/breeds/list/all").map(JdkHttpDogCatalogClient::toKeys);
+    }
+
+    @Override
+    public Mono<DogResult<List<String>>> getAllSubBreedsAsync(String breed) {
+        return getAsync("/breed/{breed}/list", breed).map(JdkHttpDogCatalogClient::toList);
+    }
+
+    @Override
+    public Mono<DogResult<List<String>>> getAllBreedImagesAsync(String breed) {
+        return getAsync("/breed/{breed}/images", breed).map(JdkHttpDogCatalogClient::toList);
+    }
+
+    private static DogResult<List<String>> toList(DogResult<JsonNode> response) {
+        return response.isSuccess() ? DogApiMessages.toList(response.getValue()) : DogResult.failure(response.getError());
+    }
+
+    private static DogResult<List<String>> toKeys(DogResult<JsonNode> response) {
+        return response.isSuccess() ? DogApiMessages.toKeys(response.getValue()) : DogResult.failure(response.getError());
+    }
+
+    private DogResult<JsonNode> get(Duration timeout, String uri, Object... uriVariables) {
+        HttpRequest request = request(timeout, uri, uriVariables);
+        long deadline = upstreamRequestScheduler.deadline(Priority.INTERACTIVE);
+        UpstreamCallEvent event = UpstreamCallEvent.start("GET", uri, Priority.INTERACTIVE);
+        try {
+            for (int attempt = 0; ; attempt++) {
+                if (event != null) {
+                    event.queued();
+                }
+                upstreamRequestScheduler.admit(Priority.INTERACTIVE, deadline).block();
+                if (event != null) {
+                    event.dispatched();
+                }
+                HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                if (!backOff(response, attempt, deadline)) {
+                    return read(uri, response, event);
+                }
+                release(response);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (event != null) {
+                event.failed(e);
+            }
+            return DogResult.failure(DogError.UPSTREAM_UNAVAILABLE);
+        } catch (IOException | UpstreamUnavailableException e) {
+            if (event != null) {
+                event.failed(e);
+            }
+            return failure(uri, e);
+        }
+    }
+
+    private Mono<DogResult<JsonNode>> getAsync(String uri, Object... uriVariables) {
+        HttpRequest request = request(BACKGROUND_TIMEOUT, uri, uriVariables);
+        return Mono.defer(() -> {
+            UpstreamCallEvent event = UpstreamCallEvent.start("GET", uri, Priority.BACKGROUND);
+            long deadline = upstreamRequestScheduler.deadline(Priority.BACKGROUND);
+            Mono<DogResult<JsonNode>> result = sendAsync(request, deadline, 0, event)
+                    .map(response -> read(uri, response, event));
+            if (event != null) {
+                result = result.doOnError(event::failed).doOnCancel(event::finish);
+            }
+            return result.onErrorResume(e -> Mono.just(failure(uri, e)));
+        });
+    }
+
+    private Mono<HttpResponse<InputStream>> sendAsync(HttpRequest request, long deadline, int attempt,
+                                                      UpstreamCallEvent event) {
+        if (event != null) {
+            event.queued();
+        }
+        return upstreamRequestScheduler.admit(Priority.BACKGROUND, deadline)
+                .then(Mono.fromFuture(() -> {
+                    if (event != null) {
+                        event.dispatched();
+                    }
+                    return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+                }))
+                .flatMap(response -> {
+                    if (!backOff(response, attempt, deadline)) {
+                        return Mono.just(response);
+                    }
+                    release(response);
+                    return sendAsync(request, deadline, attempt + 1, event);
+                });
+    }
+
+    private boolean backOff(HttpResponse<InputStream> response, int attempt, long deadline) {
+        HttpHeaders headers = new HttpHeaders(CollectionUtils.toMultiValueMap(response.headers().map()));
+        return upstreamRequestScheduler.backOff(response.uri().getPath(),
+                HttpStatusCode.valueOf(response.statusCode()), headers, attempt, deadline);
+    }
+
+    private static void release(HttpResponse<InputStream> response) {
+        try (InputStream body = response.body()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException ignored) {
+            // The connection is dropped instead of reused
+        }
+    }
+
+    private HttpRequest request(Duration timeout, String uri, Object... uriVariables) {
+        URI target = new UriTemplate(baseUrl + uri).expand(uriVariables);
+        return HttpRequest.newBuilder(target)
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .header("User-Agent", "Spring Boot Dog API Client")
+                .GET()
+                .build();
+    }
+
+    private DogResult<JsonNode> read(String uri, HttpResponse<InputStream> response, UpstreamCallEvent event) {
+        if (event != null) {
+            event.responded(response.statusCode());
+        }
+        try (InputStream body = event == null ? response.body() : event.completeWith(response.body())) {
+            if (response.statusCode() / 100 != 2) {
+                logger.warn("Call to {} failed: {}", uri, response.statusCode());
+                return DogResult.failure(DogError.fromUpstreamStatus(HttpStatusCode.valueOf(response.statusCode())));
+            }
+            return DogResult.success(objectMapper.readTree(body));
+        } catch (JsonProcessingException e) {
+            logger.error("Invalid response from {}: {}", uri, e.getOriginalMessage());
+            return DogResult.failure(DogError.UPSTREAM_ERROR);
+        } catch (IOException e) {
+            return failure(uri, e);
+        }
+    }
+
+    private static DogResult<JsonNode> failure(String uri, Throwable e) {
+        logger.error("Error calling {} using HttpClient: {}", uri, e.toString());
+        return DogResult.failure(e instanceof HttpTimeoutException ? DogError.UPSTREAM_TIMEOUT : DogError.UPSTREAM_UNAVAILABLE);
+    }
+}
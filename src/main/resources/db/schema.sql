@@ -0,0 +1,11 @@
+-- Schema for the file-backed production database (prod profile).
+-- Must stay in sync with the JPA entities, Hibernate validates it at startup.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(50) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    address VARCHAR(100)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email ON users (email);
@@ -0,0 +1,107 @@
+package com.example.restfulapi.invalidation;
+
+import com.example.restfulapi.RestfulApiApplication;
+import com.example.restfulapi.cache.UserCache;
+import com.example.restfulapi.model.User;
+import com.example.restfulapi.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.StandardSocketOptions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Starts several application contexts in one JVM, sharing the in-memory database, and checks
+ * that a user invalidated on one node is dropped from the cache of every other node within
+ * {@link #BOUND}, over both bus transports. The multicast case is skipped on hosts where a
+ * datagram sent to a group on the loopback interface does not come back.
+ */
+class InvalidationConvergenceTest {
+
+    private static final int NODES = 3;
+    // The default batch window is 50 ms; the rest is slack for a loaded build machine
+    private static final Duration BOUND = Duration.ofSeconds(2);
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @AfterEach
+    void closeNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+        nodes.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"in-jvm", "multicast"})
+    void userInvalidationReachesEveryNodeWithinBound(String transport) throws InterruptedException {
+        assumeTrue(!"multicast".equals(transport) || loopbackMulticastWorks(),
+                "no multicast on the loopback interface");
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new SpringApplicationBuilder(RestfulApiApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .bannerMode(Banner.Mode.OFF)
+                    .run("--app.invalidation.transport=" + transport,
+                            "--dog.catalog.refresh.initial-delay=P1D",
+                            "--spring.jpa.show-sql=false",
+                            "--logging.level.root=WARN"));
+        }
+        UserRepository users = nodes.get(0).getBean(UserRepository.class);
+        long userId = users.save(new User("Test User", transport + "@example.com", "Nowhere 1")).getId();
+
+        List<UserCache> caches = nodes.stream().map(node -> node.getBean(UserCache.class)).toList();
+        for (UserCache cache : caches) {
+            assertTrue(cache.findById(userId).isPresent());
+            assertTrue(cache.contains(userId));
+        }
+
+        long start = System.nanoTime();
+        caches.get(0).invalidate(userId);
+        assertFalse(caches.get(0).contains(userId), "origin keeps the user cached");
+        for (UserCache replica : caches.subList(1, NODES)) {
+            while (replica.contains(userId)) {
+                long elapsed = System.nanoTime() - start;
+                assertTrue(elapsed < BOUND.toNanos(), () -> "a replica still caches the user "
+                        + Duration.ofNanos(elapsed).toMillis() + " ms after the invalidation over " + transport);
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    private static boolean loopbackMulticastWorks() {
+        byte[] probe = {42};
+        try (MulticastSocket socket = new MulticastSocket(0)) {
+            NetworkInterface loopback = NetworkInterface.getByName("lo");
+            // lo does not advertise MULTICAST on every kernel even where it delivers, so only the round trip counts
+            if (loopback == null) {
+                return false;
+            }
+            InetSocketAddress group = new InetSocketAddress(InetAddress.getByName("239.255.42.98"), socket.getLocalPort());
+            socket.setOption(StandardSocketOptions.IP_MULTICAST_IF, loopback);
+            socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            socket.joinGroup(group, loopback);
+            socket.setSoTimeout(1000);
+            socket.send(new DatagramPacket(probe, probe.length, group));
+            DatagramPacket received = new DatagramPacket(new byte[1], 1);
+            socket.receive(received);
+            return received.getData()[0] == probe[0];
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
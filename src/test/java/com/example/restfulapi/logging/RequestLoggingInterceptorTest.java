@@ -0,0 +1,55 @@
+package com.example.restfulapi.logging;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RequestLoggingInterceptorTest {
+
+    private static final String ROUTE = "/api/dogs/random-image/stream";
+
+    private final RequestLoggingInterceptor interceptor = new RequestLoggingInterceptor();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", ROUTE);
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(interceptor, "defaultSampleRate", 1.0);
+        ReflectionTestUtils.setField(interceptor, "routeSampleRates", ROUTE + "=0.5");
+        interceptor.init();
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ROUTE);
+    }
+
+    @Test
+    void asyncRequestLeavesNoMdcOnContainerThread() {
+        interceptor.preHandle(request, response, null);
+        assertEquals(ROUTE, MDC.get(RequestLoggingInterceptor.ROUTE_KEY));
+
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+
+        assertNull(MDC.get(RequestLoggingInterceptor.ROUTE_KEY));
+        assertNull(MDC.get(RequestLoggingInterceptor.SAMPLED_KEY));
+    }
+
+    @Test
+    void asyncDispatchKeepsSamplingDecision() {
+        interceptor.preHandle(request, response, null);
+        String sampled = MDC.get(RequestLoggingInterceptor.SAMPLED_KEY);
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+
+        for (int i = 0; i < 20; i++) {
+            interceptor.preHandle(request, response, null);
+            assertEquals(sampled, MDC.get(RequestLoggingInterceptor.SAMPLED_KEY));
+        }
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertNull(MDC.get(RequestLoggingInterceptor.ROUTE_KEY));
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.restfulapi.service;
+
+import com.example.restfulapi.support.DogApiStubServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Image streams and breed checks against an in-process dog.ceo stub, with the catalog never
+ * loaded so every poll and lookup is an upstream call.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "dog.catalog.refresh.initial-delay=P1D",
+        "app.image-stream.interval=PT0.05S",
+        "app.image-stream.idle-grace=PT0S",
+        "logging.level.root=WARN"
+})
+@DirtiesContext
+class DogImageStreamServiceTest {
+
+    private static final String BREED = "hound";
+    private static final String BREEDS_PATH = "/breeds/list/all";
+    private static final String RANDOM_IMAGE_PATH = "/breed/" + BREED + "/images/random";
+    private static final int SUBSCRIBERS = 100;
+    private static final int EVENTS = 5;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private static DogApiStubServer stub;
+
+    @Autowired
+    private DogImageStreamService dogImageStreamService;
+
+    @Autowired
+    private DogCatalogService dogCatalogService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stub = DogApiStubServer.start(4)
+                .respond(BREEDS_PATH, DogApiStubServer.success("{\"" + BREED + "\":[]}"))
+                .respond(RANDOM_IMAGE_PATH,
+                        DogApiStubServer.success("\"https://images.dog.ceo/breeds/" + BREED + "/n02000.jpg\""));
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @DynamicPropertySource
+    static void stubProperties(DynamicPropertyRegistry registry) {
+        registry.add("dog.api.base-url", () -> stub.baseUrl());
+    }
+
+    @Test
+    void subscribersShareOnePoller() throws InterruptedException {
+        CountDownLatch received = new CountDownLatch(SUBSCRIBERS);
+        List<Disposable> subscriptions = new ArrayList<>(SUBSCRIBERS);
+        long callsBefore = stub.calls(RANDOM_IMAGE_PATH);
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            subscriptions.add(dogImageStreamService.stream(BREED)
+                    .take(EVENTS)
+                    .doOnComplete(received::countDown)
+                    .subscribe());
+        }
+        assertEquals(1, gauge("dog.stream.pollers"));
+
+        boolean complete = received.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        subscriptions.forEach(Disposable::dispose);
+        long calls = stub.calls(RANDOM_IMAGE_PATH) - callsBefore;
+
+        assertTrue(complete, () -> received.getCount() + " of " + SUBSCRIBERS + " subscribers did not receive "
+                + EVENTS + " images");
+        assertTrue(calls <= 2L * EVENTS, () -> calls + " upstream calls for " + EVENTS + " images");
+    }
+
+    @Test
+    void idleStreamIsDropped() throws InterruptedException {
+        dogImageStreamService.stream(BREED).take(1).blockLast();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (gauge("dog.stream.pollers") > 0 || !streams().isEmpty()) {
+            assertTrue(System.nanoTime() < deadline, "the idle stream was not dropped");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void unknownBreedIsRejectedWhileCatalogIsEmpty() {
+        assertTrue(dogCatalogService.isKnownBreed(BREED));
+        assertTrue(dogCatalogService.isKnownBreed("Hound"));
+        assertFalse(dogCatalogService.isKnownBreed("madeup"));
+    }
+
+    @Test
+    void breedListIsFetchedOnceWhileCatalogIsEmpty() {
+        ExecutorService lookupPool = Executors.newFixedThreadPool(16);
+        try {
+            List<CompletableFuture<Boolean>> lookups = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                lookups.add(CompletableFuture.supplyAsync(() -> dogCatalogService.isKnownBreed(BREED), lookupPool));
+            }
+            lookups.forEach(lookup -> assertTrue(lookup.join()));
+        } finally {
+            lookupPool.shutdownNow();
+        }
+        assertTrue(dogCatalogService.isKnownBreed(BREED));
+
+        assertEquals(1, stub.calls(BREEDS_PATH));
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private Map<?, ?> streams() {
+        return (Map<?, ?>) ReflectionTestUtils.getField(dogImageStreamService, "streams");
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.restfulapi.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process dog.ceo stand-in for tests and benchmarks, on an ephemeral localhost port.
+ * Each {@link #respond} answers one path under {@code /api} (and everything below it that has
+ * no longer registered path) with a fixed JSON body, and counts the calls it served.
+ */
+public final class DogApiStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, AtomicLong> calls = new ConcurrentHashMap<>();
+
+    private DogApiStubServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Start an empty stub answering on the given number of threads
+     */
+    public static DogApiStubServer start(int threads) throws IOException {
+        // Without TCP_NODELAY the separate header and body writes hit delayed ACKs
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.start();
+        return new DogApiStubServer(server, executor);
+    }
+
+    /**
+     * Answer {@code GET /api<path>} with status 200 and the given body
+     */
+    public DogApiStubServer respond(String path, byte[] body) {
+        AtomicLong counter = calls.computeIfAbsent(path, key -> new AtomicLong());
+        server.createContext("/api" + path, exchange -> {
+            counter.incrementAndGet();
+            send(exchange, body);
+        });
+        return this;
+    }
+
+    /**
+     * Calls served so far for a path registered with {@link #respond}
+     */
+    public long calls(String path) {
+        AtomicLong counter = calls.get(path);
+        return counter != null ? counter.get() : 0;
+    }
+
+    /**
+     * Value for {@code dog.api.base-url}
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api";
+    }
+
+    /**
+     * A dog.ceo success body around the given JSON message
+     */
+    public static byte[] success(String message) {
+        return ("{\"message\":" + message + ",\"status\":\"success\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void send(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}